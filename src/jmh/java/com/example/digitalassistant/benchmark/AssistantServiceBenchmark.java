@@ -0,0 +1,96 @@
+package com.example.digitalassistant.benchmark;
+
+import com.example.digitalassistant.model.AssistantUpsertResult;
+import com.example.digitalassistant.model.MessageRequest;
+import com.example.digitalassistant.model.MessageResponse;
+import com.example.digitalassistant.service.AssistantService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Service-level benchmarks of the message and upsert paths, against H2 (store=jpa)
+ * and against the append-only log store (store=log).
+ *
+ * Benchmarks:
+ * - sendMessageCached: message to an existing assistant (cache hit)
+ * - sendMessageUnknown: message to a name that doesn't exist (name filter)
+ * - upsertExisting: createOrUpdateAssistant on an existing name (update path)
+ * - upsertNew: createOrUpdateAssistant on a fresh name (insert path; the table grows)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms512m", "-Xmx512m"})
+public class AssistantServiceBenchmark {
+
+    private static final String ASSISTANT_NAME = "Benchmark-Bot";
+    
+    @Param({"jpa", "log"})
+    public String store;
+    
+    private Path dataDir;
+    private ConfigurableApplicationContext context;
+    private AssistantService assistantService;
+    private MessageRequest messageRequest;
+    private final AtomicLong newNames = new AtomicLong();
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataDir = Files.createTempDirectory("service-benchmark");
+        context = BenchmarkContext.start("service-benchmark", BenchmarkContext.storeProperties(store, dataDir));
+        assistantService = context.getBean(AssistantService.class);
+        assistantService.createOrUpdateAssistant(ASSISTANT_NAME, "Hello! I am the benchmark assistant.");
+        messageRequest = new MessageRequest("Hello there!");
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(dataDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+    
+    @Benchmark
+    public Optional<MessageResponse> sendMessageCached() {
+        return assistantService.sendMessageToAssistant(ASSISTANT_NAME, messageRequest);
+    }
+    
+    @Benchmark
+    public Optional<MessageResponse> sendMessageUnknown() {
+        return assistantService.sendMessageToAssistant("No-Such-Bot", messageRequest);
+    }
+    
+    @Benchmark
+    public AssistantUpsertResult upsertExisting() {
+        return assistantService.createOrUpdateAssistant(ASSISTANT_NAME, "Hello! I am the benchmark assistant.");
+    }
+    
+    @Benchmark
+    public AssistantUpsertResult upsertNew() {
+        return assistantService.createOrUpdateAssistant("Bench-" + newNames.incrementAndGet(), "Fresh assistant");
+    }
+}
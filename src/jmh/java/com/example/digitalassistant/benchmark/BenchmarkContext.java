@@ -0,0 +1,72 @@
+package com.example.digitalassistant.benchmark;
+
+import com.example.digitalassistant.DigitalAssistantApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+
+/**
+ * Starts the full application for benchmarks.
+ * I kept the settings that only add noise (SQL logging, banner, fixed port)
+ * switched off here so every benchmark measures the same configuration.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+    
+    /**
+     * Start the application on a random port with an in-memory H2 database
+     *
+     * @param databaseName Name of the H2 database, so each trial starts empty
+     * @param properties Extra properties (key=value), e.g. to pick another assistant store
+     * @return The running application context; close it in a tear-down method
+     */
+    public static ConfigurableApplicationContext start(String databaseName, String... properties) {
+        return new SpringApplicationBuilder(DigitalAssistantApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "spring.datasource.url=jdbc:h2:mem:" + databaseName,
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "spring.h2.console.enabled=false",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+    
+    /**
+     * Properties that select an assistant store, with the log store kept in dataDir
+     *
+     * @param store jpa or log
+     * @param dataDir Directory for the log store's files (unused by jpa)
+     */
+    public static String[] storeProperties(String store, Path dataDir) {
+        return new String[] {
+                "app.assistant.store=" + store,
+                "app.assistant.store.log.dir=" + dataDir.resolve("assistant-log").toAbsolutePath()
+        };
+    }
+    
+    /**
+     * Start the application with the persistent profile on a file database
+     *
+     * @param dataDir Directory holding the H2 database file; reused across starts
+     * @param store Assistant store to use (jpa or log); the log store also keeps its files in dataDir
+     * @return The running application context; close it in a tear-down method
+     */
+    public static ConfigurableApplicationContext startPersistent(Path dataDir, String store) {
+        return new SpringApplicationBuilder(DigitalAssistantApplication.class)
+                .profiles("persistent")
+                .properties(
+                        "server.port=0",
+                        "spring.main.banner-mode=off",
+                        "app.assistant.data-dir=" + dataDir.toAbsolutePath(),
+                        "spring.h2.console.enabled=false",
+                        "logging.level.root=WARN")
+                .properties(storeProperties(store, dataDir))
+                .run();
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.digitalassistant.benchmark;
+
+import com.example.digitalassistant.model.Assistant;
+import com.example.digitalassistant.service.AssistantService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cold start of the persistent profile: time from starting the application
+ * on an existing file database until the first message is served over HTTP.
+ *
+ * The database is seeded once per trial; every measured iteration starts a
+ * fresh context on it (Flyway validation, Hibernate validation, name filter
+ * build from the stored names) and closes it again afterwards.
+ *
+ * With store=log the assistants are read from the log store's snapshot and
+ * log instead of H2 (H2 still starts, with an empty schema).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms512m", "-Xmx512m"})
+public class ColdStartBenchmark {
+
+    private static final String MESSAGE_BODY = "{\"message\":\"Hello there!\"}";
+    private static final int SEED_CHUNK = 1000;
+    
+    @Param({"100000"})
+    public int assistants;
+    
+    @Param({"jpa", "log"})
+    public String store;
+    
+    private Path dataDir;
+    private ConfigurableApplicationContext context;
+    
+    @Setup(Level.Trial)
+    public void seed() throws IOException {
+        dataDir = Files.createTempDirectory("cold-start-benchmark");
+        
+        ConfigurableApplicationContext seeding = BenchmarkContext.startPersistent(dataDir, store);
+        try {
+            AssistantService assistantService = seeding.getBean(AssistantService.class);
+            List<Assistant> chunk = new ArrayList<>(SEED_CHUNK);
+            for (int i = 0; i < assistants; i++) {
+                chunk.add(new Assistant("Stored-" + i, "Stored assistant " + i + " at your service."));
+                if (chunk.size() == SEED_CHUNK) {
+                    assistantService.createOrUpdateAssistants(chunk);
+                    chunk = new ArrayList<>(SEED_CHUNK);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                assistantService.createOrUpdateAssistants(chunk);
+            }
+        } finally {
+            seeding.close();
+        }
+    }
+    
+    @TearDown(Level.Iteration)
+    public void stop() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void deleteDatabase() throws IOException {
+        try (Stream<Path> files = Files.walk(dataDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+    
+    @Benchmark
+    public int startAndServeFirstMessage() throws IOException {
+        context = BenchmarkContext.startPersistent(dataDir, store);
+        int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+        
+        // The last stored assistant, so the lookup can't be served by anything warmed during seeding
+        String name = "Stored-" + (assistants - 1);
+        HttpURLConnection connection = (HttpURLConnection) new URL(
+                "http://localhost:" + port + "/api/assistants/" + name + "/message").openConnection();
+        connection.setRequestMethod("POST");
+        connection.setRequestProperty("Content-Type", "application/json");
+        connection.setDoOutput(true);
+        try (OutputStream body = connection.getOutputStream()) {
+            body.write(MESSAGE_BODY.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        int status = connection.getResponseCode();
+        if (status != 200) {
+            throw new IllegalStateException("First message failed with HTTP " + status);
+        }
+        try (InputStream response = connection.getInputStream()) {
+            byte[] buffer = new byte[1024];
+            while (response.read(buffer) != -1) {
+                // drain so the whole response is included in the measurement
+            }
+        }
+        return status;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.digitalassistant.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Full Spring MVC dispatch (filters, argument resolution, validation,
+ * message conversion) of each REST endpoint through MockMvc.
+ * The SSE and WebSocket endpoints are asynchronous and aren't covered here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms512m", "-Xmx512m"})
+public class ControllerBenchmark {
+
+    private static final String BASE = "/api/assistants";
+    private static final String ASSISTANT_NAME = "Benchmark-Bot";
+    private static final String ASSISTANT_BODY =
+            "{\"name\":\"" + ASSISTANT_NAME + "\",\"responseText\":\"Hello! I am the benchmark assistant.\"}";
+    private static final String MESSAGE_BODY = "{\"message\":\"Hello there!\"}";
+    
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private final AtomicLong newNames = new AtomicLong();
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = BenchmarkContext.start("controller-benchmark");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        
+        mockMvc.perform(post(BASE).contentType(MediaType.APPLICATION_JSON).content(ASSISTANT_BODY));
+        for (int i = 0; i < 200; i++) {
+            mockMvc.perform(post(BASE).contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"name\":\"Filler-" + i + "\",\"responseText\":\"Filler assistant " + i + "\"}"));
+        }
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public MvcResult createOrUpdateAssistant() throws Exception {
+        return mockMvc.perform(post(BASE).contentType(MediaType.APPLICATION_JSON).content(ASSISTANT_BODY)).andReturn();
+    }
+    
+    @Benchmark
+    public MvcResult sendMessage() throws Exception {
+        return mockMvc.perform(post(BASE + "/" + ASSISTANT_NAME + "/message")
+                .contentType(MediaType.APPLICATION_JSON).content(MESSAGE_BODY)).andReturn();
+    }
+    
+    @Benchmark
+    public MvcResult sendMessageNotFound() throws Exception {
+        return mockMvc.perform(post(BASE + "/No-Such-Bot/message")
+                .contentType(MediaType.APPLICATION_JSON).content(MESSAGE_BODY)).andReturn();
+    }
+    
+    @Benchmark
+    public MvcResult sendMessageInvalid() throws Exception {
+        return mockMvc.perform(post(BASE + "/" + ASSISTANT_NAME + "/message")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"message\":\"\"}")).andReturn();
+    }
+    
+    @Benchmark
+    public MvcResult sendMessages() throws Exception {
+        return mockMvc.perform(post(BASE + "/messages:batch").contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"assistantName\":\"" + ASSISTANT_NAME + "\",\"message\":\"Hi\"}," +
+                        "{\"assistantName\":\"Filler-1\",\"message\":\"Hi\"}," +
+                        "{\"assistantName\":\"No-Such-Bot\",\"message\":\"Hi\"}]")).andReturn();
+    }
+    
+    @Benchmark
+    public MvcResult getAssistant() throws Exception {
+        return mockMvc.perform(get(BASE + "/" + ASSISTANT_NAME)).andReturn();
+    }
+    
+    @Benchmark
+    public MvcResult getAssistantPage() throws Exception {
+        return mockMvc.perform(get(BASE).param("size", "50")).andReturn();
+    }
+    
+    @Benchmark
+    public MvcResult getAllAssistants() throws Exception {
+        return mockMvc.perform(get(BASE)).andReturn();
+    }
+    
+    @Benchmark
+    public MvcResult exportAssistants() throws Exception {
+        return mockMvc.perform(get(BASE + "/export")).andReturn();
+    }
+    
+    @Benchmark
+    public MvcResult importAssistants() throws Exception {
+        return mockMvc.perform(post(BASE + "/bulk").contentType(MediaType.APPLICATION_JSON)
+                .content("[" + ASSISTANT_BODY + ",{\"name\":\"Filler-2\",\"responseText\":\"Filler assistant 2\"}]"))
+                .andReturn();
+    }
+    
+    @Benchmark
+    public MvcResult createAndDeleteAssistant() throws Exception {
+        String name = "Bench-" + newNames.incrementAndGet();
+        mockMvc.perform(post(BASE).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"" + name + "\",\"responseText\":\"Short-lived assistant\"}"));
+        return mockMvc.perform(delete(BASE + "/" + name)).andReturn();
+    }
+    
+    @Benchmark
+    public MvcResult health() throws Exception {
+        return mockMvc.perform(get(BASE + "/health")).andReturn();
+    }
+}
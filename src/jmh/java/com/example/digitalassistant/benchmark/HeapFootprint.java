@@ -0,0 +1,105 @@
+package com.example.digitalassistant.benchmark;
+
+import com.example.digitalassistant.model.Assistant;
+import com.example.digitalassistant.model.AssistantSnapshot;
+import com.example.digitalassistant.service.OffHeapAssistantIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Heap and direct memory needed to hold a catalogue of assistants in memory.
+ * Not a JMH benchmark: memory is measured once after a full GC, in its own JVM
+ * per layout so the numbers don't mix.
+ *
+ * Layouts:
+ * - entities: Assistant entities in a map by name (a lower bound for a Hibernate
+ *   persistence context, which adds its own entry and snapshot per entity)
+ * - snapshots: AssistantSnapshot objects in a map by name (what the cache holds)
+ * - offheap: the OffHeapAssistantIndex
+ *
+ * Usage: HeapFootprint <entities|snapshots|offheap> <count>
+ */
+public final class HeapFootprint {
+
+    private HeapFootprint() {
+    }
+    
+    public static void main(String[] args) throws InterruptedException {
+        String layout = args.length > 0 ? args[0] : "offheap";
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        
+        long heapBefore = usedHeap();
+        long directBefore = usedDirect();
+        long started = System.nanoTime();
+        
+        Object held;
+        switch (layout) {
+            case "entities":
+                Map<String, Assistant> entities = new HashMap<>(count * 4 / 3 + 1);
+                for (int i = 0; i < count; i++) {
+                    Assistant assistant = new Assistant(name(i), responseText(i));
+                    assistant.setId((long) i);
+                    entities.put(assistant.getName(), assistant);
+                }
+                held = entities;
+                break;
+            case "snapshots":
+                Map<String, AssistantSnapshot> snapshots = new HashMap<>(count * 4 / 3 + 1);
+                for (int i = 0; i < count; i++) {
+                    snapshots.put(name(i), new AssistantSnapshot(name(i), responseText(i)));
+                }
+                held = snapshots;
+                break;
+            case "offheap":
+                OffHeapAssistantIndex index = new OffHeapAssistantIndex(
+                        null, new SimpleMeterRegistry(), true, 64 << 20, count);
+                for (int i = 0; i < count; i++) {
+                    index.put(name(i), responseText(i));
+                }
+                held = index;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown layout '" + layout + "' (entities, snapshots, offheap)");
+        }
+        long loadMillis = (System.nanoTime() - started) / 1_000_000;
+        
+        long heap = usedHeap() - heapBefore;
+        long direct = usedDirect() - directBefore;
+        System.out.printf("%-10s %,12d assistants: heap %,8d MB (%,5d B/assistant), direct %,8d MB, loaded in %,d ms%n",
+                layout, count, heap >> 20, heap / count, direct >> 20, loadMillis);
+        
+        // Keep the structure reachable until it has been measured
+        if (held.hashCode() == 42) {
+            System.out.println();
+        }
+    }
+    
+    private static String name(int i) {
+        return "Assistant-" + i;
+    }
+    
+    private static String responseText(int i) {
+        return "Hello! I am assistant number " + i + ". How can I help you today?";
+    }
+    
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+    
+    private static long usedDirect() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName())) {
+                return pool.getMemoryUsed();
+            }
+        }
+        return 0;
+    }
+}
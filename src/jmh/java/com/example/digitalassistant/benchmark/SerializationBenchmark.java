@@ -0,0 +1,93 @@
+package com.example.digitalassistant.benchmark;
+
+import com.example.digitalassistant.model.Assistant;
+import com.example.digitalassistant.model.AssistantSnapshot;
+import com.example.digitalassistant.model.MessageResponse;
+import com.example.digitalassistant.model.PrerenderedMessageResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the response bodies the API writes most.
+ * I build the ObjectMapper the same way Spring Boot does (Java time module,
+ * ISO dates) so the numbers match what the controllers actually pay.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private MessageResponse messageResponse;
+    private AssistantSnapshot snapshot;
+    private Assistant assistant;
+    private Map<String, Object> errorBody;
+    
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        
+        messageResponse = new MessageResponse("Yash-SmartBot",
+                "Hello! I am Yash-SmartBot, your intelligent digital assistant. How can I help you today?",
+                "Hello there!");
+        
+        snapshot = new AssistantSnapshot("Yash-SmartBot",
+                "Hello! I am Yash-SmartBot, your intelligent digital assistant. How can I help you today?");
+        
+        assistant = new Assistant("Yash-SmartBot",
+                "Hello! I am Yash-SmartBot, your intelligent digital assistant. How can I help you today?");
+        assistant.setId(1L);
+        
+        // Same shape as the controller's not-found body
+        errorBody = new HashMap<>();
+        errorBody.put("success", false);
+        errorBody.put("error", "Assistant not found");
+        errorBody.put("details", "Assistant with name 'NoSuchBot' not found. " +
+                "Please create the assistant first or check the name spelling.");
+        errorBody.put("assistantName", "NoSuchBot");
+        errorBody.put("timestamp", LocalDateTime.now());
+    }
+    
+    @Benchmark
+    public byte[] messageResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(messageResponse);
+    }
+    
+    @Benchmark
+    public byte[] prerenderedMessageResponse() {
+        // What the message endpoint writes: cached static bytes plus the rendered dynamic part
+        PrerenderedMessageResponse response = new PrerenderedMessageResponse(snapshot, "Hello there!");
+        byte[] staticPart = response.staticPart();
+        byte[] dynamicPart = response.renderDynamicPart();
+        return staticPart.length > dynamicPart.length ? staticPart : dynamicPart;
+    }
+    
+    @Benchmark
+    public byte[] assistant() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(assistant);
+    }
+    
+    @Benchmark
+    public byte[] errorBody() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(errorBody);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.digitalassistant.benchmark;
+
+import com.example.digitalassistant.config.VirtualThreads;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency against memory for platform and virtual threads.
+ * Not a JMH benchmark: like HeapFootprint it measures one configuration per JVM.
+ *
+ * Two phases:
+ * - footprint: start count threads that all block (as request threads waiting on
+ *   I/O do) and report start time, heap and resident memory while they wait
+ * - concurrency: release them; each blocks block-ms more and finishes. With enough
+ *   threads this takes about block-ms. With pinned, the wait happens inside a
+ *   synchronized block, which pins a virtual thread to its carrier (JDK 21), so
+ *   virtual threads only get through parallelism waits at a time. This is the
+ *   case PinningGuardDataSource protects the JDBC path from.
+ *
+ * Usage: ThreadFootprint <platform|virtual> <count> [block-ms] [pinned]
+ * Virtual threads need JDK 21 (build with -Pjmh,jdk21).
+ */
+public final class ThreadFootprint {
+
+    private ThreadFootprint() {
+    }
+    
+    public static void main(String[] args) throws InterruptedException {
+        String mode = args.length > 0 ? args[0] : "virtual";
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        long blockMillis = args.length > 2 ? Long.parseLong(args[2]) : 100;
+        boolean pinned = args.length > 3 && "pinned".equals(args[3]);
+        
+        ThreadFactory threadFactory;
+        switch (mode) {
+            case "platform":
+                AtomicInteger threadNumber = new AtomicInteger();
+                threadFactory = runnable -> {
+                    Thread thread = new Thread(runnable, "platform-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                };
+                break;
+            case "virtual":
+                threadFactory = VirtualThreads.threadFactory("virtual-");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown mode '" + mode + "' (platform, virtual)");
+        }
+        
+        long heapBefore = usedHeap();
+        long rssBefore = residentKb();
+        
+        CountDownLatch waiting = new CountDownLatch(count);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(count);
+        Runnable task = () -> {
+            try {
+                waiting.countDown();
+                release.await();
+                if (pinned) {
+                    synchronized (new Object()) {
+                        Thread.sleep(blockMillis);
+                    }
+                } else {
+                    Thread.sleep(blockMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.countDown();
+            }
+        };
+        
+        long started = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            threadFactory.newThread(task).start();
+        }
+        waiting.await();
+        long startMillis = (System.nanoTime() - started) / 1_000_000;
+        
+        long heap = usedHeap() - heapBefore;
+        long rssKb = residentKb() - rssBefore;
+        int platformThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+        
+        long released = System.nanoTime();
+        release.countDown();
+        done.await();
+        long completeMillis = (System.nanoTime() - released) / 1_000_000;
+        
+        System.out.printf("%-8s %,9d threads%s: started in %,6d ms, heap %,6d MB, RSS %,6d MB (%,6d B/thread), "
+                        + "%,5d platform threads, %d ms blocks done in %,7d ms%n",
+                mode, count, pinned ? " (pinned)" : "", startMillis, heap >> 20,
+                rssKb >> 10, rssKb * 1024 / count, platformThreads, blockMillis, completeMillis);
+    }
+    
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+    
+    /**
+     * Resident set size of this process in KB (Linux only, 0 elsewhere)
+     *
+     * Platform thread stacks are outside the heap, so RSS is what shows their cost.
+     */
+    private static long residentKb() {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/self/status"), StandardCharsets.US_ASCII)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.substring(6).replace("kB", "").trim());
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // not on Linux
+        }
+        return 0;
+    }
+}
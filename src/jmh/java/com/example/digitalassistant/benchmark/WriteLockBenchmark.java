@@ -0,0 +1,162 @@
+package com.example.digitalassistant.benchmark;
+
+import com.example.digitalassistant.service.AssistantWriteLocks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write throughput through AssistantWriteLocks as threads are added.
+ * The critical section burns a fixed amount of CPU in place of the upsert, so
+ * the numbers show what the locking allows rather than what H2 does.
+ *
+ * Params:
+ * - stripes: 1 is a single global write lock, 64 is the default striping
+ * - names: distinct (every thread writes its own names) or same (all threads write one hot name)
+ *
+ * With distinct names, striped throughput should grow with the thread count
+ * while the global lock stays flat; with one hot name both are serialized.
+ * Run it at several thread counts, e.g. -t 1, -t 4, -t 8.
+ *
+ * Bulk groups: one thread imports 500-name chunks while three threads write
+ * single names, as during a bulk import under live traffic.
+ * - bulkWhole: each chunk locks all its names at once (nearly every stripe)
+ * - bulkGrouped: each chunk is written in groups of at most 8 stripes, as AssistantImportService does
+ * The single-name writers' throughput shows how much the import stalls them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WriteLockBenchmark {
+
+    // Roughly a microsecond of work per write
+    private static final long WORK_TOKENS = 500;
+    
+    // Names per bulk import chunk (app.assistant.bulk.chunk-size)
+    private static final int CHUNK_SIZE = 500;
+    
+    // Stripes per bulk group (app.assistant.write-locks.bulk-stripes)
+    private static final int BULK_STRIPES = 8;
+    
+    @Param({"1", "64"})
+    public int stripes;
+    
+    @Param({"distinct", "same"})
+    public String names;
+    
+    private AssistantWriteLocks writeLocks;
+    private List<String> chunk;
+    private List<List<String>> chunkGroups;
+    
+    @Setup
+    public void setUp() {
+        writeLocks = new AssistantWriteLocks(new SimpleMeterRegistry(), stripes);
+        
+        chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            chunk.add("Imported-" + i);
+        }
+        chunkGroups = new ArrayList<>();
+        for (List<Integer> positions : writeLocks.groupByStripes(chunk, BULK_STRIPES)) {
+            List<String> group = new ArrayList<>(positions.size());
+            for (int position : positions) {
+                group.add(chunk.get(position));
+            }
+            chunkGroups.add(group);
+        }
+    }
+    
+    /**
+     * The names one benchmark thread writes
+     */
+    @State(Scope.Thread)
+    public static class Writer {
+    
+        String[] names;
+        int next;
+        
+        @Setup
+        public void setUp(WriteLockBenchmark benchmark, ThreadParams threads) {
+            names = new String[1024];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = "same".equals(benchmark.names)
+                        ? "Hot-Assistant"
+                        : "Assistant-" + threads.getThreadIndex() + "-" + i;
+            }
+        }
+        
+        String nextName() {
+            return names[next++ & (names.length - 1)];
+        }
+    }
+    
+    @Benchmark
+    public Object write(Writer writer) {
+        return writeLocks.withLock(writer.nextName(), () -> {
+            Blackhole.consumeCPU(WORK_TOKENS);
+            return Boolean.TRUE;
+        });
+    }
+    
+    @Benchmark
+    @Group("bulkWhole")
+    @GroupThreads(1)
+    public Object bulkWholeImport() {
+        return writeChunk(chunk);
+    }
+    
+    @Benchmark
+    @Group("bulkWhole")
+    @GroupThreads(3)
+    public Object bulkWholeWrite(Writer writer) {
+        return write(writer);
+    }
+    
+    @Benchmark
+    @Group("bulkGrouped")
+    @GroupThreads(1)
+    public Object bulkGroupedImport() {
+        Object result = null;
+        for (List<String> group : chunkGroups) {
+            result = writeChunk(group);
+        }
+        return result;
+    }
+    
+    @Benchmark
+    @Group("bulkGrouped")
+    @GroupThreads(3)
+    public Object bulkGroupedWrite(Writer writer) {
+        return write(writer);
+    }
+    
+    /**
+     * One bulk transaction: the same work per name as a single write, under the locks of all names
+     */
+    private Object writeChunk(List<String> names) {
+        return writeLocks.withLocks(names, () -> {
+            Blackhole.consumeCPU(WORK_TOKENS * names.size());
+            return Boolean.TRUE;
+        });
+    }
+}
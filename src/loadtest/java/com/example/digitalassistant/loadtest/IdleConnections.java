@@ -0,0 +1,186 @@
+package com.example.digitalassistant.loadtest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds many mostly idle keep-alive connections open while the load runs.
+ * I added this to compare how many concurrent connections each server stack
+ * keeps under the same container limits. Real clients look like this:
+ * connected all the time, sending a request now and then.
+ *
+ * All connections are served by one selector thread. Each one sends a GET of
+ * the ping path at the ping interval and drains whatever comes back. A
+ * connection the server closes or resets is counted and not reopened.
+ */
+public class IdleConnections {
+
+    private final InetSocketAddress address;
+    private final ByteBuffer pingRequest;
+    private final long pingIntervalNanos;
+    private final List<SocketChannel> channels = new ArrayList<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(16 * 1024);
+    
+    private Selector selector;
+    private Thread thread;
+    private volatile boolean running;
+    
+    private int requested;
+    private int failedToConnect;
+    private volatile int closedByServer;
+    private volatile long pingsSent;
+    
+    public IdleConnections(String baseUrl, String pingPath, long pingIntervalSeconds) throws IOException {
+        URL url = new URL(baseUrl);
+        int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+        this.address = new InetSocketAddress(url.getHost(), port);
+        String request = "GET " + pingPath + " HTTP/1.1\r\n" +
+                "Host: " + url.getHost() + ":" + port + "\r\n" +
+                "Connection: keep-alive\r\n\r\n";
+        this.pingRequest = ByteBuffer.wrap(request.getBytes(StandardCharsets.US_ASCII)).asReadOnlyBuffer();
+        this.pingIntervalNanos = TimeUnit.SECONDS.toNanos(pingIntervalSeconds);
+    }
+    
+    /**
+     * Open the connections and start pinging them
+     *
+     * Connections that can't be opened (refused, timed out, out of local
+     * ports or file descriptors) are counted as failed.
+     *
+     * @param count Number of connections to open
+     */
+    public void start(int count) throws IOException {
+        selector = Selector.open();
+        requested = count;
+        for (int i = 0; i < count; i++) {
+            try {
+                SocketChannel channel = SocketChannel.open();
+                try {
+                    channel.socket().connect(address, 5000);
+                    channel.configureBlocking(false);
+                    channel.register(selector, SelectionKey.OP_READ);
+                    channels.add(channel);
+                } catch (IOException e) {
+                    channel.close();
+                    failedToConnect++;
+                }
+            } catch (IOException e) {
+                failedToConnect++;
+            }
+        }
+        
+        running = true;
+        thread = new Thread(this::run, "idle-connections");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    /**
+     * Stop pinging and close every connection
+     *
+     * @return Counts for the report: requested, opened, failedToConnect, closedByServer, stillOpen, pingsSent
+     */
+    public Map<String, Object> stop() throws InterruptedException, IOException {
+        running = false;
+        selector.wakeup();
+        thread.join();
+        
+        int stillOpen = 0;
+        for (SocketChannel channel : channels) {
+            if (channel.isOpen()) {
+                stillOpen++;
+                channel.close();
+            }
+        }
+        selector.close();
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requested", requested);
+        result.put("opened", channels.size());
+        result.put("failedToConnect", failedToConnect);
+        result.put("closedByServer", closedByServer);
+        result.put("stillOpen", stillOpen);
+        result.put("pingsSent", pingsSent);
+        return result;
+    }
+    
+    private void run() {
+        long nextPing = System.nanoTime();
+        while (running) {
+            try {
+                long now = System.nanoTime();
+                if (now >= nextPing) {
+                    pingAll();
+                    nextPing = now + pingIntervalNanos;
+                }
+                
+                long waitMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextPing - System.nanoTime()));
+                selector.select(waitMillis);
+                
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (key.isValid() && key.isReadable()) {
+                        drain(key);
+                    }
+                }
+            } catch (IOException e) {
+                // The selector itself failed; stop rather than spin
+                running = false;
+            }
+        }
+    }
+    
+    private void pingAll() {
+        for (SocketChannel channel : channels) {
+            if (!channel.isOpen()) {
+                continue;
+            }
+            try {
+                // The request is a few dozen bytes; it fits the socket buffer in one write
+                channel.write(pingRequest.duplicate());
+                pingsSent++;
+            } catch (IOException e) {
+                closeByServer(channel);
+            }
+        }
+    }
+    
+    private void drain(SelectionKey key) {
+        SocketChannel channel = (SocketChannel) key.channel();
+        try {
+            int read;
+            do {
+                readBuffer.clear();
+                read = channel.read(readBuffer);
+            } while (read > 0);
+            if (read < 0) {
+                closeByServer(channel);
+            }
+        } catch (IOException e) {
+            closeByServer(channel);
+        }
+    }
+    
+    private void closeByServer(SocketChannel channel) {
+        closedByServer++;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // already gone
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.digitalassistant.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends replay requests to a running instance in a closed or open model.
+ *
+ * - Closed model: a fixed number of workers, each sending its next request
+ *   as soon as the previous one finished (plus optional think time)
+ * - Open model: requests start at a fixed arrival rate whatever the response
+ *   times are; latency is measured from the intended start time so a slow
+ *   server can't hide queueing delay (no coordinated omission)
+ *
+ * The replay file is sent in order, over and over; each pass is one round.
+ * Only requests started after the warm-up period are recorded.
+ */
+public class LoadGenerator {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 5000;
+    private static final int READ_TIMEOUT_MILLIS = 30000;
+    
+    private final String baseUrl;
+    private final List<ReplayRequest> requests;
+    private final LoadReport report;
+    private final AtomicLong nextIndex = new AtomicLong();
+    
+    private volatile long recordFromNanos;
+    
+    public LoadGenerator(String baseUrl, List<ReplayRequest> requests, LoadReport report) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.requests = requests;
+        this.report = report;
+    }
+    
+    /**
+     * Run the closed model
+     *
+     * @param concurrency Number of workers
+     * @param thinkMillis Pause between a response and the worker's next request
+     * @return Length of the measured period in nanoseconds
+     */
+    public long runClosed(int concurrency, long thinkMillis, long warmupNanos, long durationNanos)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        recordFromNanos = start + warmupNanos;
+        long end = recordFromNanos + durationNanos;
+        
+        CountDownLatch finished = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < end) {
+                        long sendAt = System.nanoTime();
+                        send(sendAt);
+                        if (thinkMillis > 0) {
+                            Thread.sleep(thinkMillis);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    finished.countDown();
+                }
+            }, "load-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        
+        finished.await();
+        return System.nanoTime() - recordFromNanos;
+    }
+    
+    /**
+     * Run the open model
+     *
+     * @param ratePerSecond Arrival rate of new requests
+     * @param maxInFlight Upper bound on concurrent requests; arrivals beyond it are counted as dropped
+     * @return Length of the measured period in nanoseconds
+     */
+    public long runOpen(double ratePerSecond, int maxInFlight, long warmupNanos, long durationNanos)
+            throws InterruptedException {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxInFlight, maxInFlight, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>());
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        
+        long start = System.nanoTime();
+        recordFromNanos = start + warmupNanos;
+        long end = recordFromNanos + durationNanos;
+        
+        try {
+            for (long arrival = 0; ; arrival++) {
+                long intendedStart = start + arrival * intervalNanos;
+                if (intendedStart >= end) {
+                    break;
+                }
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                
+                try {
+                    executor.execute(() -> send(intendedStart));
+                } catch (RejectedExecutionException e) {
+                    if (intendedStart >= recordFromNanos) {
+                        report.recordDropped();
+                    }
+                }
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(READ_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        return end - recordFromNanos;
+    }
+    
+    /**
+     * Send the next request of the replay file and record the outcome
+     *
+     * @param intendedStartNanos When the request should have started; latency is measured from here
+     */
+    private void send(long intendedStartNanos) {
+        long index = nextIndex.getAndIncrement();
+        ReplayRequest request = requests.get((int) (index % requests.size()));
+        String[] resolved = request.resolve(index / requests.size());
+        
+        boolean success;
+        try {
+            success = request.isSuccess(execute(request, resolved[0], resolved[1]));
+        } catch (IOException e) {
+            success = false;
+        }
+        
+        if (intendedStartNanos >= recordFromNanos) {
+            report.record(request.getName(), System.nanoTime() - intendedStartNanos, success);
+        }
+    }
+    
+    /**
+     * Send one HTTP request and read the whole response so the connection can be reused
+     *
+     * @return The HTTP status code
+     */
+    private int execute(ReplayRequest request, String path, String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+        connection.setReadTimeout(READ_TIMEOUT_MILLIS);
+        connection.setRequestMethod(request.getMethod());
+        for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+            connection.setRequestProperty(header.getKey(), header.getValue());
+        }
+        
+        if (body != null) {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            connection.setDoOutput(true);
+            connection.setFixedLengthStreamingMode(bytes.length);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(bytes);
+            }
+        }
+        
+        int status = connection.getResponseCode();
+        InputStream in = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+        if (in != null) {
+            try (InputStream response = in) {
+                byte[] buffer = new byte[8192];
+                while (response.read(buffer) != -1) {
+                    // drain
+                }
+            }
+        }
+        return status;
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.digitalassistant.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, throughput and error statistics of one load test run.
+ *
+ * Latencies are recorded in microseconds into HdrHistograms (3 significant
+ * digits, up to one minute), once per endpoint name and once overall.
+ * The report is written as JSON and can be compared with an earlier report.
+ */
+public class LoadReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    
+    private final Stats total = new Stats();
+    private final Map<String, Stats> endpoints = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+    
+    /**
+     * Record one completed (or failed) request
+     *
+     * @param name Endpoint name from the replay file
+     * @param latencyNanos Time from the intended send time to the end of the response
+     * @param success Whether the response counts as a success
+     */
+    public void record(String name, long latencyNanos, boolean success) {
+        total.record(latencyNanos, success);
+        endpoints.computeIfAbsent(name, key -> new Stats()).record(latencyNanos, success);
+    }
+    
+    /**
+     * Record a request the open model couldn't send because every worker was busy
+     */
+    public void recordDropped() {
+        dropped.increment();
+    }
+    
+    /**
+     * Build the JSON report
+     *
+     * @param settings Run settings to include under "settings"
+     * @param elapsedNanos Length of the measured period
+     */
+    public ObjectNode toJson(ObjectMapper objectMapper, Map<String, Object> settings, long elapsedNanos) {
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("generatedAt", Instant.now().toString());
+        report.set("settings", objectMapper.valueToTree(settings));
+        report.put("durationSeconds", elapsedNanos / 1e9);
+        report.put("dropped", dropped.sum());
+        report.set("total", total.toJson(objectMapper, elapsedNanos));
+        
+        ObjectNode endpointsNode = report.putObject("endpoints");
+        for (Map.Entry<String, Stats> entry : new TreeMap<>(endpoints).entrySet()) {
+            endpointsNode.set(entry.getKey(), entry.getValue().toJson(objectMapper, elapsedNanos));
+        }
+        return report;
+    }
+    
+    /**
+     * Compare a report with a baseline report and list the regressions
+     *
+     * A regression is a p99 latency or throughput change worse than the
+     * threshold, or an error rate more than one percentage point higher.
+     *
+     * @param maxRegressionPercent Allowed relative change, e.g. 10 for 10%
+     * @return The "comparison" JSON node; its "regressions" array is empty if none were found
+     */
+    public static ObjectNode compare(ObjectMapper objectMapper, JsonNode current, JsonNode baseline,
+                                     double maxRegressionPercent) {
+        ObjectNode comparison = objectMapper.createObjectNode();
+        List<String> regressions = new ArrayList<>();
+        
+        comparison.set("total", compareStats(objectMapper, "total", current.path("total"),
+                baseline.path("total"), maxRegressionPercent, regressions));
+        
+        ObjectNode endpointsNode = comparison.putObject("endpoints");
+        Iterator<Map.Entry<String, JsonNode>> fields = current.path("endpoints").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode before = baseline.path("endpoints").path(field.getKey());
+            if (!before.isMissingNode()) {
+                endpointsNode.set(field.getKey(), compareStats(objectMapper, field.getKey(), field.getValue(),
+                        before, maxRegressionPercent, regressions));
+            }
+        }
+        
+        comparison.set("regressions", objectMapper.valueToTree(regressions));
+        return comparison;
+    }
+    
+    private static ObjectNode compareStats(ObjectMapper objectMapper, String name, JsonNode current,
+                                           JsonNode baseline, double maxRegressionPercent, List<String> regressions) {
+        ObjectNode node = objectMapper.createObjectNode();
+        double p50Change = percentChange(current.path("p50Micros").asDouble(), baseline.path("p50Micros").asDouble());
+        double p99Change = percentChange(current.path("p99Micros").asDouble(), baseline.path("p99Micros").asDouble());
+        double throughputChange = percentChange(current.path("throughputPerSecond").asDouble(),
+                baseline.path("throughputPerSecond").asDouble());
+        double errorRateChange = current.path("errorRate").asDouble() - baseline.path("errorRate").asDouble();
+        
+        node.put("p50ChangePercent", p50Change);
+        node.put("p99ChangePercent", p99Change);
+        node.put("throughputChangePercent", throughputChange);
+        node.put("errorRateChange", errorRateChange);
+        
+        if (p99Change > maxRegressionPercent) {
+            regressions.add(name + ": p99 latency up " + format(p99Change) + "%");
+        }
+        if (throughputChange < -maxRegressionPercent) {
+            regressions.add(name + ": throughput down " + format(-throughputChange) + "%");
+        }
+        if (errorRateChange > 0.01) {
+            regressions.add(name + ": error rate up " + format(errorRateChange * 100) + " points");
+        }
+        return node;
+    }
+    
+    private static double percentChange(double current, double baseline) {
+        if (baseline == 0) {
+            return 0;
+        }
+        return (current - baseline) / baseline * 100;
+    }
+    
+    private static String format(double value) {
+        return String.format("%.1f", value);
+    }
+    
+    /**
+     * Write a report to a file, pretty-printed
+     */
+    public static void write(ObjectMapper objectMapper, JsonNode report, Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        objectMapper.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+    
+    /**
+     * One-line summary of the overall numbers for the console
+     */
+    public String summary(long elapsedNanos) {
+        Histogram histogram = total.histogram.copy();
+        long count = total.requests.sum();
+        return String.format("%d requests, %.1f req/s, %.2f%% errors, p50 %d us, p99 %d us, max %d us, %d dropped",
+                count, count / (elapsedNanos / 1e9), total.errorRate() * 100,
+                histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(99),
+                histogram.getMaxValue(), dropped.sum());
+    }
+    
+    /**
+     * Counters and latency histogram for one endpoint (or the total)
+     */
+    private static class Stats {
+    
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        
+        void record(long latencyNanos, boolean success) {
+            long micros = Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+            histogram.recordValue(micros);
+            requests.increment();
+            if (!success) {
+                errors.increment();
+            }
+        }
+        
+        double errorRate() {
+            long count = requests.sum();
+            return count == 0 ? 0 : (double) errors.sum() / count;
+        }
+        
+        ObjectNode toJson(ObjectMapper objectMapper, long elapsedNanos) {
+            Histogram snapshot = histogram.copy();
+            long count = requests.sum();
+            
+            ObjectNode node = objectMapper.createObjectNode();
+            node.put("requests", count);
+            node.put("errors", errors.sum());
+            node.put("errorRate", errorRate());
+            node.put("throughputPerSecond", count / (elapsedNanos / 1e9));
+            node.put("meanMicros", snapshot.getMean());
+            node.put("p50Micros", snapshot.getValueAtPercentile(50));
+            node.put("p90Micros", snapshot.getValueAtPercentile(90));
+            node.put("p99Micros", snapshot.getValueAtPercentile(99));
+            node.put("p999Micros", snapshot.getValueAtPercentile(99.9));
+            node.put("maxMicros", snapshot.getMaxValue());
+            return node;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.digitalassistant.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command line entry point of the load generator.
+ * I wrote this so capacity can be signed off before a deploy against a
+ * locally started instance, with no external tools or network access.
+ *
+ * Usage (normally through mvn -Ploadtest verify -Dloadtest.args="..."):
+ *   --base-url URL          Instance to test (default http://localhost:8080)
+ *   --file PATH             JSONL replay file (default src/loadtest/resources/replay-sample.jsonl)
+ *   --model closed|open     Arrival model (default closed)
+ *   --concurrency N         Closed: workers; open: maximum requests in flight (default 16)
+ *   --rate N                Open model arrival rate per second (default 200)
+ *   --think-ms N            Closed model pause between requests per worker (default 0)
+ *   --warmup-seconds N      Unrecorded warm-up period (default 10)
+ *   --duration-seconds N    Recorded period (default 60)
+ *   --report PATH           Where to write the JSON report (default target/loadtest-report.json)
+ *   --baseline PATH         Earlier report to compare with
+ *   --max-regression-percent N  Allowed p99/throughput change against the baseline (default 10)
+ *   --idle-connections N    Keep-alive connections held open during the run (default 0)
+ *   --idle-ping-seconds N   Interval between requests on each idle connection (default 30)
+ *   --idle-path PATH        Path requested on idle connections (default /api/assistants/health)
+ *
+ * Exits with status 2 if the comparison finds a regression.
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        Path file = Paths.get(options.getOrDefault("file", "src/loadtest/resources/replay-sample.jsonl"));
+        String model = options.getOrDefault("model", "closed");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "16"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        long thinkMillis = Long.parseLong(options.getOrDefault("think-ms", "0"));
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("warmup-seconds", "10")));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("duration-seconds", "60")));
+        Path reportFile = Paths.get(options.getOrDefault("report", "target/loadtest-report.json"));
+        double maxRegressionPercent = Double.parseDouble(options.getOrDefault("max-regression-percent", "10"));
+        int idleConnectionCount = Integer.parseInt(options.getOrDefault("idle-connections", "0"));
+        long idlePingSeconds = Long.parseLong(options.getOrDefault("idle-ping-seconds", "30"));
+        String idlePath = options.getOrDefault("idle-path", "/api/assistants/health");
+        
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<ReplayRequest> requests = ReplayRequest.readAll(file, objectMapper);
+        
+        LoadReport report = new LoadReport();
+        LoadGenerator generator = new LoadGenerator(baseUrl, requests, report);
+        
+        IdleConnections idleConnections = null;
+        if (idleConnectionCount > 0) {
+            idleConnections = new IdleConnections(baseUrl, idlePath, idlePingSeconds);
+            idleConnections.start(idleConnectionCount);
+            System.out.println("Holding " + idleConnectionCount + " idle connections to " + baseUrl);
+        }
+        
+        System.out.println("Replaying " + requests.size() + " requests from " + file + " against " + baseUrl +
+                " (" + model + " model)");
+        long elapsedNanos;
+        if ("open".equals(model)) {
+            elapsedNanos = generator.runOpen(rate, concurrency, warmupNanos, durationNanos);
+        } else if ("closed".equals(model)) {
+            elapsedNanos = generator.runClosed(concurrency, thinkMillis, warmupNanos, durationNanos);
+        } else {
+            throw new IllegalArgumentException("--model must be closed or open, got " + model);
+        }
+        System.out.println(report.summary(elapsedNanos));
+        
+        Map<String, Object> idleResult = null;
+        if (idleConnections != null) {
+            idleResult = idleConnections.stop();
+            System.out.println("Idle connections: " + idleResult);
+        }
+        
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("baseUrl", baseUrl);
+        settings.put("file", file.toString());
+        settings.put("model", model);
+        settings.put("concurrency", concurrency);
+        if ("open".equals(model)) {
+            settings.put("ratePerSecond", rate);
+        } else {
+            settings.put("thinkMillis", thinkMillis);
+        }
+        settings.put("warmupSeconds", TimeUnit.NANOSECONDS.toSeconds(warmupNanos));
+        
+        if (idleConnectionCount > 0) {
+            settings.put("idleConnections", idleConnectionCount);
+            settings.put("idlePingSeconds", idlePingSeconds);
+        }
+        
+        ObjectNode json = report.toJson(objectMapper, settings, elapsedNanos);
+        if (idleResult != null) {
+            json.set("idleConnections", objectMapper.valueToTree(idleResult));
+        }
+        
+        boolean regressed = false;
+        if (options.containsKey("baseline")) {
+            Path baselineFile = Paths.get(options.get("baseline"));
+            JsonNode baseline = objectMapper.readTree(Files.newInputStream(baselineFile));
+            ObjectNode comparison = LoadReport.compare(objectMapper, json, baseline, maxRegressionPercent);
+            comparison.put("baseline", baselineFile.toString());
+            json.set("comparison", comparison);
+            
+            JsonNode regressions = comparison.path("regressions");
+            regressed = regressions.size() > 0;
+            System.out.println(regressed
+                    ? "Regressions against " + baselineFile + ": " + regressions
+                    : "No regressions against " + baselineFile);
+        }
+        
+        LoadReport.write(objectMapper, json, reportFile);
+        System.out.println("Report written to " + reportFile);
+        
+        if (regressed) {
+            System.exit(2);
+        }
+    }
+    
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value pairs, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+}
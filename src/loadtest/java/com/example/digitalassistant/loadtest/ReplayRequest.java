@@ -0,0 +1,148 @@
+package com.example.digitalassistant.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One request from a replay file.
+ *
+ * Each line of the file is a JSON object:
+ * {"name": "sendMessage", "method": "POST", "path": "/api/assistants/Bot/message",
+ *  "body": {"message": "Hi"}, "headers": {"Accept": "application/json"}, "expectStatus": 200}
+ *
+ * Only method and path are required. "{round}" in the path or body is replaced by
+ * the number of the current pass over the file, so a create and a delete line
+ * in the same pass refer to the same fresh assistant.
+ * Without expectStatus, any response below 500 counts as a success.
+ */
+public final class ReplayRequest {
+
+    private static final String ROUND_PLACEHOLDER = "{round}";
+    
+    private final String name;
+    private final String method;
+    private final String path;
+    private final String body;
+    private final Map<String, String> headers;
+    private final int expectStatus;
+    
+    private ReplayRequest(String name, String method, String path, String body,
+                          Map<String, String> headers, int expectStatus) {
+        this.name = name;
+        this.method = method;
+        this.path = path;
+        this.body = body;
+        this.headers = headers;
+        this.expectStatus = expectStatus;
+    }
+    
+    /**
+     * Read every request of a JSONL replay file, skipping blank lines and # comments
+     *
+     * @throws IllegalArgumentException if a line isn't a valid request
+     */
+    public static List<ReplayRequest> readAll(Path file, ObjectMapper objectMapper) throws IOException {
+        List<ReplayRequest> requests = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    requests.add(parse(objectMapper.readTree(trimmed)));
+                } catch (IOException | IllegalArgumentException e) {
+                    throw new IllegalArgumentException(file + ":" + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        if (requests.isEmpty()) {
+            throw new IllegalArgumentException(file + " contains no requests");
+        }
+        return requests;
+    }
+    
+    private static ReplayRequest parse(JsonNode node) {
+        if (!node.hasNonNull("method") || !node.hasNonNull("path")) {
+            throw new IllegalArgumentException("method and path are required");
+        }
+        String method = node.get("method").asText().toUpperCase();
+        String path = node.get("path").asText();
+        String name = node.hasNonNull("name") ? node.get("name").asText() : method + " " + path;
+        
+        String body = null;
+        JsonNode bodyNode = node.get("body");
+        if (bodyNode != null && !bodyNode.isNull()) {
+            body = bodyNode.isTextual() ? bodyNode.asText() : bodyNode.toString();
+        }
+        
+        Map<String, String> headers = new LinkedHashMap<>();
+        JsonNode headersNode = node.get("headers");
+        if (headersNode != null && headersNode.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = headersNode.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                headers.put(field.getKey(), field.getValue().asText());
+            }
+        }
+        if (body != null && !headers.containsKey("Content-Type")) {
+            headers.put("Content-Type", "application/json");
+        }
+        
+        int expectStatus = node.hasNonNull("expectStatus") ? node.get("expectStatus").asInt() : 0;
+        return new ReplayRequest(name, method, path, body, headers, expectStatus);
+    }
+    
+    /**
+     * Name used to group results in the report
+     */
+    public String getName() {
+        return name;
+    }
+    
+    public String getMethod() {
+        return method;
+    }
+    
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+    
+    /**
+     * Path and body for one send, with {round} filled in
+     *
+     * @param round The current pass over the replay file
+     * @return Two elements: the path, then the body (may be null)
+     */
+    public String[] resolve(long round) {
+        if (!path.contains(ROUND_PLACEHOLDER) && (body == null || !body.contains(ROUND_PLACEHOLDER))) {
+            return new String[] {path, body};
+        }
+        String value = Long.toString(round);
+        return new String[] {
+                path.replace(ROUND_PLACEHOLDER, value),
+                body == null ? null : body.replace(ROUND_PLACEHOLDER, value)
+        };
+    }
+    
+    /**
+     * Whether a response status counts as a success for this request
+     */
+    public boolean isSuccess(int status) {
+        return expectStatus > 0 ? status == expectStatus : status < 500;
+    }
+}
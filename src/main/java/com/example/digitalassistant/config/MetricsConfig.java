@@ -0,0 +1,111 @@
+package com.example.digitalassistant.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics wiring that doesn't belong to a single service.
+ * I added this to see how many JDBC statements each endpoint runs, next to
+ * the service timers and the Hikari pool metrics Spring Boot already binds.
+ *
+ * Meters:
+ * - assistant.jdbc.queries (distribution summary): statements per HTTP request, tags uri and method
+ *
+ * Async requests (/message/async) are recorded when the async response
+ * completes, and include the statements the message executor ran for them.
+ * An SSE stream runs its lookup on the request thread, so it is counted like
+ * any other request. A single-flight follower shares another request's load
+ * and runs no statements itself; the load counts against the leader.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Wrap the application DataSource so executed statements are counted per thread
+     */
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof DataSource && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+    
+    /**
+     * Record the number of JDBC statements each request ran
+     */
+    @Bean
+    public OncePerRequestFilter jdbcQueryMetricsFilter(MeterRegistry meterRegistry) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                AtomicLong statements = QueryCountingDataSource.reset();
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    if (request.isAsyncStarted()) {
+                        // The work hasn't finished yet; record once the async response has
+                        request.getAsyncContext().addListener(new AsyncListener() {
+                            @Override
+                            public void onComplete(AsyncEvent event) {
+                                record(meterRegistry, request, statements.get());
+                            }
+                            
+                            @Override
+                            public void onTimeout(AsyncEvent event) {
+                                // onComplete still follows
+                            }
+                            
+                            @Override
+                            public void onError(AsyncEvent event) {
+                                // onComplete still follows
+                            }
+                            
+                            @Override
+                            public void onStartAsync(AsyncEvent event) {
+                            }
+                        });
+                    } else {
+                        record(meterRegistry, request, statements.get());
+                    }
+                }
+            }
+        };
+    }
+    
+    private static void record(MeterRegistry meterRegistry, HttpServletRequest request, long statements) {
+        // Use the matched route, not the raw path, to keep the tag bounded
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("assistant.jdbc.queries")
+                .description("JDBC statements executed per HTTP request")
+                .baseUnit("statements")
+                .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                .tag("method", request.getMethod())
+                .publishPercentileHistogram()
+                .maximumExpectedValue(1000.0)
+                .register(meterRegistry)
+                .record(statements);
+    }
+}
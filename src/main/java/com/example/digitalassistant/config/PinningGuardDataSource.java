@@ -0,0 +1,149 @@
+package com.example.digitalassistant.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource wrapper that limits how many threads use JDBC at the same time.
+ * I added this for the virtual-thread mode. H2 (and parts of the Hikari and
+ * Hibernate code paths) do their work inside synchronized blocks. A virtual
+ * thread that blocks inside one stays pinned to its carrier thread. If every
+ * carrier is pinned, no other virtual thread can run, including the ones that
+ * would release the lock.
+ *
+ * A thread needs a permit to get a connection and gives it back when it closes
+ * the connection. With fewer permits than carrier threads, at least one
+ * carrier is always free for the rest of the application. That needs two
+ * carriers or more: with one, even a single permit can pin it, so
+ * VirtualThreadConfig refuses to start. Threads waiting for a permit park on
+ * the semaphore, which doesn't pin.
+ */
+public class PinningGuardDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long acquireTimeoutMillis;
+    
+    /**
+     * @param target The DataSource to guard (usually the pool)
+     * @param maxPermits Connections that can be held at the same time
+     * @param acquireTimeoutMillis How long getConnection waits for a permit before it fails
+     */
+    public PinningGuardDataSource(DataSource target, int maxPermits, long acquireTimeoutMillis) {
+        super(target);
+        this.permits = new Semaphore(maxPermits, true);
+        this.maxPermits = maxPermits;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+    
+    public int getMaxPermits() {
+        return maxPermits;
+    }
+    
+    /**
+     * Permits currently held (open connections obtained through this DataSource)
+     */
+    public int getActivePermits() {
+        return maxPermits - permits.availablePermits();
+    }
+    
+    /**
+     * Threads waiting for a permit (an estimate)
+     */
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guardedConnection(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guardedConnection(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+    
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("No JDBC permit available after "
+                        + acquireTimeoutMillis + "ms (" + maxPermits + " in use)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a JDBC permit", e);
+        }
+    }
+    
+    private Connection guardedConnection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(PinningGuardDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new ConnectionHandler(target));
+    }
+    
+    /**
+     * Gives the permit back the first time the connection is closed
+     */
+    private class ConnectionHandler implements InvocationHandler {
+    
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Guarded " + target;
+                case "close":
+                    try {
+                        return invokeTarget(target, method, args);
+                    } finally {
+                        if (released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                default:
+                    return invokeTarget(target, method, args);
+            }
+        }
+    }
+    
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.digitalassistant.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * DataSource wrapper that counts executed JDBC statements per request.
+ * I put this around the application DataSource bean, i.e. above the Hikari
+ * pool: each borrowed connection is wrapped, so JPA, JdbcTemplate and the
+ * native upsert/stream statements are all counted the same way.
+ *
+ * The counter is bound to a thread: {@link #reset()} at the start of a request
+ * binds a new one, and {@link #current()} at the end gives the number of
+ * statements that request ran. Work a request hands to another thread is
+ * counted against it if the task is wrapped with {@link #propagate}.
+ * A JDBC batch counts as one statement (one round trip).
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<AtomicLong> COUNT = ThreadLocal.withInitial(AtomicLong::new);
+    
+    public QueryCountingDataSource(DataSource target) {
+        super(target);
+    }
+    
+    /**
+     * Bind a new statement counter to the current thread
+     *
+     * @return The counter; still counts statements of propagated tasks after this thread moves on
+     */
+    public static AtomicLong reset() {
+        AtomicLong counter = new AtomicLong();
+        COUNT.set(counter);
+        return counter;
+    }
+    
+    /**
+     * Statements counted by the current thread's counter since the last {@link #reset()}
+     */
+    public static long current() {
+        return COUNT.get().get();
+    }
+    
+    /**
+     * Count the statements a task runs on another thread against the current thread's counter
+     *
+     * @param task The task to hand to an executor
+     * @return The task, binding the captured counter while it runs
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        AtomicLong counter = COUNT.get();
+        return () -> {
+            AtomicLong previous = COUNT.get();
+            COUNT.set(counter);
+            try {
+                return task.get();
+            } finally {
+                COUNT.set(previous);
+            }
+        };
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countingConnection(super.getConnection());
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return countingConnection(super.getConnection(username, password));
+    }
+    
+    private static Connection countingConnection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new ConnectionHandler(target));
+    }
+    
+    /**
+     * Wraps every statement the connection creates
+     */
+    private static class ConnectionHandler implements InvocationHandler {
+    
+        private final Connection target;
+        
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Counting " + target;
+                default:
+                    break;
+            }
+            
+            Object result = invokeTarget(target, method, args);
+            if (result instanceof Statement) {
+                Class<?> type = result instanceof CallableStatement ? CallableStatement.class
+                        : result instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                        new Class<?>[] {type}, new StatementHandler((Statement) result, (Connection) proxy));
+            }
+            return result;
+        }
+    }
+    
+    /**
+     * Counts execute* calls
+     */
+    private static class StatementHandler implements InvocationHandler {
+    
+        private final Statement target;
+        private final Connection connection;
+        
+        StatementHandler(Statement target, Connection connection) {
+            this.target = target;
+            this.connection = connection;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("getConnection")) {
+                return connection;
+            }
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (name.startsWith("execute")) {
+                COUNT.get().incrementAndGet();
+            }
+            return invokeTarget(target, method, args);
+        }
+    }
+    
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.digitalassistant.config;
+
+import com.example.digitalassistant.model.Assistant;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for the Hibernate second-level cache.
+ *
+ * - GET /actuator/hibernatecache: hits, misses and puts per assistant region, plus the
+ *   second-level, natural-id and query cache totals
+ *
+ * Read-only over HTTP: evicting every region pushes all reads back to H2, and
+ * the app has no security on port 8080. Evicting is a JMX operation (see
+ * {@link SecondLevelCacheJmxExtension}).
+ *
+ * The same totals are published as hibernate.second.level.cache.* and
+ * hibernate.query.cache.* meters; this view adds the per-region breakdown.
+ */
+@Component
+@Endpoint(id = "hibernatecache")
+public class SecondLevelCacheEndpoint {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @ReadOperation
+    public Map<String, Object> stats() {
+        Statistics statistics = sessionFactory().getStatistics();
+        
+        Map<String, Object> regions = new LinkedHashMap<>();
+        regions.put(Assistant.CACHE_REGION, region(statistics, Assistant.CACHE_REGION, false));
+        regions.put(Assistant.NATURAL_ID_CACHE_REGION, region(statistics, Assistant.NATURAL_ID_CACHE_REGION, false));
+        regions.put(Assistant.QUERY_CACHE_REGION, region(statistics, Assistant.QUERY_CACHE_REGION, true));
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        result.put("secondLevelCache", totals(statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(), statistics.getSecondLevelCachePutCount()));
+        result.put("naturalIdCache", totals(statistics.getNaturalIdCacheHitCount(),
+                statistics.getNaturalIdCacheMissCount(), statistics.getNaturalIdCachePutCount()));
+        result.put("queryCache", totals(statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+        result.put("regions", regions);
+        return result;
+    }
+    
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+    
+    /**
+     * Statistics for one region; Hibernate only knows a query region once a
+     * cacheable query has used it, so an unused one reports zeros
+     */
+    private static Map<String, Object> region(Statistics statistics, String name, boolean queryRegion) {
+        CacheRegionStatistics regionStatistics;
+        try {
+            regionStatistics = queryRegion
+                    ? statistics.getQueryRegionStatistics(name)
+                    : statistics.getCacheRegionStatistics(name);
+        } catch (IllegalArgumentException e) {
+            regionStatistics = null;
+        }
+        
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", regionStatistics == null ? 0 : regionStatistics.getHitCount());
+        stats.put("misses", regionStatistics == null ? 0 : regionStatistics.getMissCount());
+        stats.put("puts", regionStatistics == null ? 0 : regionStatistics.getPutCount());
+        stats.put("elementsInMemory", regionStatistics == null ? 0 : regionStatistics.getElementCountInMemory());
+        return stats;
+    }
+    
+    private static Map<String, Object> totals(long hits, long misses, long puts) {
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("hits", hits);
+        totals.put("misses", misses);
+        totals.put("puts", puts);
+        long lookups = hits + misses;
+        totals.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+        return totals;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.digitalassistant.config;
+
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.EndpointJmxExtension;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * JMX-only operations of the hibernatecache endpoint.
+ * I moved the eviction here from SecondLevelCacheEndpoint so clients of the
+ * HTTP port can't flush the cache. Over JMX the endpoint keeps its statistics
+ * and adds:
+ *
+ * - evictAll: evict every region, e.g. after editing the table by hand
+ *   (org.springframework.boot:type=Endpoint,name=Hibernatecache)
+ */
+@Component
+@EndpointJmxExtension(endpoint = SecondLevelCacheEndpoint.class)
+public class SecondLevelCacheJmxExtension {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @DeleteOperation
+    public void evictAll() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+}
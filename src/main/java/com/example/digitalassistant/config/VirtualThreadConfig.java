@@ -0,0 +1,120 @@
+package com.example.digitalassistant.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Virtual-thread mode (app.assistant.virtual-threads.enabled=true, JDK 21+).
+ * I kept this opt-in: the default build still targets Java 8 and runs on
+ * platform threads. With the mode on:
+ * - Tomcat runs every request on a new virtual thread instead of its worker pool
+ * - AsyncMessageService creates its workers as virtual threads
+ * - JDBC access goes through PinningGuardDataSource so pinned carriers can't starve the scheduler
+ *
+ * Startup fails if the mode is enabled on a JDK without virtual threads, or
+ * with fewer than 2 scheduler carriers (see pinningGuardDataSourcePostProcessor).
+ *
+ * Meters:
+ * - assistant.jdbc.permits.active (gauge): connections currently held through the guard
+ * - assistant.jdbc.permits.waiting (gauge): threads waiting for a permit
+ * - assistant.jdbc.permits.max (gauge): configured permits
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.assistant.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    public VirtualThreadConfig() {
+        if (!VirtualThreads.isSupported()) {
+            throw new IllegalStateException("app.assistant.virtual-threads.enabled=true needs JDK 21 or newer, running on "
+                    + System.getProperty("java.version"));
+        }
+    }
+    
+    /**
+     * One virtual thread per request, shut down with the context
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService tomcatVirtualThreadExecutor() {
+        return VirtualThreads.newThreadPerTaskExecutor("http-virtual-");
+    }
+    
+    /**
+     * Hand Tomcat's request processing to the virtual-thread executor
+     *
+     * server.tomcat.threads.max no longer applies; server.tomcat.max-connections
+     * and accept-count still bound the work Tomcat takes in.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService tomcatVirtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(tomcatVirtualThreadExecutor);
+    }
+    
+    /**
+     * Wrap the application DataSource so concurrent JDBC use stays below the carrier count
+     *
+     * Startup fails if the permits would not leave a carrier free: with one
+     * carrier (a container limited to one CPU) there is no count that does, so
+     * run with -Djdk.virtualThreadScheduler.parallelism=2 or more.
+     *
+     * @param jdbcPermits Permits, or 0 for one less than the scheduler parallelism
+     * @param acquireTimeoutMillis How long a thread waits for a permit
+     */
+    @Bean
+    public static BeanPostProcessor pinningGuardDataSourcePostProcessor(
+            @Value("${app.assistant.virtual-threads.jdbc-permits:0}") int jdbcPermits,
+            @Value("${app.assistant.virtual-threads.jdbc-acquire-timeout-ms:30000}") long acquireTimeoutMillis) {
+        int parallelism = VirtualThreads.schedulerParallelism();
+        if (parallelism < 2) {
+            throw new IllegalStateException("Virtual-thread mode needs at least 2 scheduler carriers so one stays free "
+                    + "while JDBC pins the others, but parallelism is " + parallelism
+                    + "; start the JVM with -Djdk.virtualThreadScheduler.parallelism=2");
+        }
+        int permits = jdbcPermits > 0 ? jdbcPermits : parallelism - 1;
+        if (permits >= parallelism) {
+            throw new IllegalStateException("app.assistant.virtual-threads.jdbc-permits=" + permits
+                    + " leaves no carrier free with scheduler parallelism " + parallelism
+                    + "; use at most " + (parallelism - 1) + " or 0 for the default");
+        }
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof DataSource && !(bean instanceof PinningGuardDataSource)) {
+                    return new PinningGuardDataSource((DataSource) bean, permits, acquireTimeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+    
+    @Bean
+    public MeterBinder pinningGuardMetrics(DataSource dataSource) {
+        return registry -> {
+            PinningGuardDataSource guard;
+            try {
+                guard = dataSource.unwrap(PinningGuardDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            Gauge.builder("assistant.jdbc.permits.active", guard, PinningGuardDataSource::getActivePermits)
+                    .description("Connections held through the virtual-thread JDBC guard")
+                    .register(registry);
+            Gauge.builder("assistant.jdbc.permits.waiting", guard, PinningGuardDataSource::getWaitingThreads)
+                    .description("Threads waiting for a JDBC permit")
+                    .register(registry);
+            Gauge.builder("assistant.jdbc.permits.max", guard, PinningGuardDataSource::getMaxPermits)
+                    .description("JDBC permits of the virtual-thread guard")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.digitalassistant.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to virtual threads (JDK 21+) from code that still compiles for Java 8.
+ * I went through reflection so the default build keeps its Java 8 target and
+ * the virtual-thread mode only needs a newer runtime (see the jdk21 profile).
+ *
+ * Everything here throws IllegalStateException on a JDK without virtual threads;
+ * check {@link #isSupported()} first.
+ */
+public final class VirtualThreads {
+
+    private static final Method OF_VIRTUAL = method(Thread.class, "ofVirtual");
+    private static final Method IS_VIRTUAL = method(Thread.class, "isVirtual");
+    private static final Method THREAD_PER_TASK = method(Executors.class, "newThreadPerTaskExecutor", ThreadFactory.class);
+    
+    private VirtualThreads() {
+    }
+    
+    /**
+     * Whether this JDK can create virtual threads
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null && THREAD_PER_TASK != null;
+    }
+    
+    /**
+     * Factory of virtual threads named prefix0, prefix1, ...
+     *
+     * Equivalent to Thread.ofVirtual().name(prefix, 0).factory()
+     */
+    public static ThreadFactory threadFactory(String prefix) {
+        requireSupported();
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not create a virtual thread factory", e);
+        }
+    }
+    
+    /**
+     * Executor that starts a new virtual thread for every task
+     *
+     * Virtual threads are cheap and not meant to be pooled; bound concurrency
+     * with a semaphore or a bounded pool in front of the scarce resource instead.
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String prefix) {
+        try {
+            return (ExecutorService) THREAD_PER_TASK.invoke(null, threadFactory(prefix));
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not create a virtual thread executor", e);
+        }
+    }
+    
+    /**
+     * Whether the thread is a virtual thread (always false before JDK 21)
+     */
+    public static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (Boolean) IS_VIRTUAL.invoke(thread);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Number of carrier threads virtual threads are scheduled on
+     */
+    public static int schedulerParallelism() {
+        String configured = System.getProperty("jdk.virtualThreadScheduler.parallelism");
+        if (configured != null) {
+            try {
+                return Math.max(1, Integer.parseInt(configured.trim()));
+            } catch (NumberFormatException e) {
+                // fall through to the JDK default
+            }
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+    
+    private static void requireSupported() {
+        if (!isSupported()) {
+            throw new IllegalStateException("Virtual threads need JDK 21 or newer, running on "
+                    + System.getProperty("java.version"));
+        }
+    }
+    
+    private static Method method(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.digitalassistant.config;
+
+import com.example.digitalassistant.controller.ErrorResponseConverter;
+import com.example.digitalassistant.controller.PrerenderedMessageResponseConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Spring MVC customizations.
+ * I register the pre-rendered message and error converters ahead of Jackson so
+ * they get first pick of PrerenderedMessageResponse and ErrorResponse bodies;
+ * everything else still goes to the default converters.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new PrerenderedMessageResponseConverter());
+        converters.add(1, new ErrorResponseConverter());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.digitalassistant.config;
+
+import com.example.digitalassistant.controller.AssistantChatHandshakeInterceptor;
+import com.example.digitalassistant.controller.AssistantChatWebSocketHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebSocket configuration for the assistant chat channel.
+ * I set this up so interactive clients can keep one connection per
+ * conversation instead of paying a full HTTP request for every message.
+ *
+ * Endpoint: ws://host:8080/ws/assistants/{assistantName}/chat
+ */
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    @Autowired
+    private AssistantChatWebSocketHandler chatHandler;
+    
+    @Autowired
+    private AssistantChatHandshakeInterceptor chatHandshakeInterceptor;
+    
+    // Largest text frame accepted from a client (messages are at most 500 characters)
+    @Value("${app.assistant.chat.max-text-message-bytes:8192}")
+    private int maxTextMessageBytes;
+    
+    // Sessions with no traffic for this long are closed by the container
+    @Value("${app.assistant.chat.idle-timeout-seconds:600}")
+    private long idleTimeoutSeconds;
+    
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(chatHandler, AssistantChatHandshakeInterceptor.PATH_PATTERN)
+                .addInterceptors(chatHandshakeInterceptor)
+                .setAllowedOriginPatterns("*");
+    }
+    
+    /**
+     * Container limits for every WebSocket session
+     */
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer() {
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(maxTextMessageBytes);
+        container.setMaxBinaryMessageBufferSize(maxTextMessageBytes);
+        container.setMaxSessionIdleTimeout(TimeUnit.SECONDS.toMillis(idleTimeoutSeconds));
+        return container;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.digitalassistant.controller;
+
+import com.example.digitalassistant.model.ErrorCode;
+import com.example.digitalassistant.model.ErrorResponse;
+import com.example.digitalassistant.service.AssistantService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Central error handling for the REST controllers.
+ * I moved the exception handlers here so every endpoint reports errors with
+ * the same typed {@link ErrorResponse} body.
+ *
+ * Expected outcomes (unknown assistants) are returned by the controllers
+ * directly or thrown as stackless exceptions, so they stay cheap.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /**
+     * Build the response entity for an error body, using the status of its code
+     */
+    public static ResponseEntity<ErrorResponse> toResponse(ErrorResponse error) {
+        return ResponseEntity.status(error.getCode().getStatus()).body(error);
+    }
+    
+    /**
+     * Validation errors from @Valid request bodies
+     */
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ErrorResponse> handleValidationErrors(MethodArgumentNotValidException ex) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (FieldError error : ex.getBindingResult().getFieldErrors()) {
+            errors.put(error.getField(), error.getDefaultMessage());
+        }
+        return toResponse(ErrorResponse.validation(errors));
+    }
+    
+    /**
+     * Request bodies that aren't valid JSON for the endpoint
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleUnreadableBody(HttpMessageNotReadableException ex) {
+        return toResponse(ErrorResponse.of(ErrorCode.MALFORMED_REQUEST, "Request body is missing or is not valid JSON"));
+    }
+    
+    /**
+     * Assistants that don't exist (the exception is stackless)
+     */
+    @ExceptionHandler(AssistantService.AssistantNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleNotFound(AssistantService.AssistantNotFoundException ex) {
+        if (ex.getAssistantName() != null) {
+            return toResponse(ErrorResponse.forAssistant(ex.getCode(), ex.getAssistantName()));
+        }
+        return toResponse(ErrorResponse.of(ErrorCode.ASSISTANT_NOT_FOUND, ex.getMessage()));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.digitalassistant.controller;
+
+import com.example.digitalassistant.model.AssistantSnapshot;
+import com.example.digitalassistant.service.AssistantService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Binds a chat WebSocket to its assistant during the HTTP handshake.
+ * I resolve the assistant here so an unknown name is rejected with a plain
+ * 404 before any WebSocket session is created.
+ */
+@Component
+public class AssistantChatHandshakeInterceptor implements HandshakeInterceptor {
+
+    public static final String PATH_PATTERN = "/ws/assistants/*/chat";
+    
+    // Session attributes filled in here and read by the chat handler
+    static final String ASSISTANT_ATTRIBUTE = "assistant";
+    static final String GENERATION_ATTRIBUTE = "assistantGeneration";
+    
+    private static final String PATH_PREFIX = "/ws/assistants/";
+    private static final String PATH_SUFFIX = "/chat";
+    
+    @Autowired
+    private AssistantService assistantService;
+    
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String assistantName = assistantName(request.getURI().getPath());
+        if (assistantName == null) {
+            response.setStatusCode(HttpStatus.BAD_REQUEST);
+            return false;
+        }
+        
+        // Capture the generation first so a write racing with the lookup is noticed later
+        long generation = assistantService.getAssistantGeneration();
+        Optional<AssistantSnapshot> assistant = assistantService.resolveAssistant(assistantName);
+        if (!assistant.isPresent()) {
+            response.setStatusCode(HttpStatus.NOT_FOUND);
+            return false;
+        }
+        
+        attributes.put(ASSISTANT_ATTRIBUTE, assistant.get());
+        attributes.put(GENERATION_ATTRIBUTE, generation);
+        return true;
+    }
+    
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+        // Nothing to clean up
+    }
+    
+    /**
+     * Extract the assistant name from /ws/assistants/{assistantName}/chat
+     *
+     * @return The decoded name, or null if the path doesn't match
+     */
+    private static String assistantName(String path) {
+        if (path == null) {
+            return null;
+        }
+        int start = path.indexOf(PATH_PREFIX);
+        if (start < 0 || !path.endsWith(PATH_SUFFIX)) {
+            return null;
+        }
+        String name = path.substring(start + PATH_PREFIX.length(), path.length() - PATH_SUFFIX.length());
+        return name.trim().isEmpty() ? null : name;
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.digitalassistant.controller;
+
+import com.example.digitalassistant.model.AssistantSnapshot;
+import com.example.digitalassistant.model.ErrorCode;
+import com.example.digitalassistant.model.ErrorResponse;
+import com.example.digitalassistant.model.MessageRequest;
+import com.example.digitalassistant.model.PrerenderedMessageResponse;
+import com.example.digitalassistant.service.AssistantService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * WebSocket chat channel bound to a single assistant.
+ * I implemented this for long-lived chat sessions: the client connects to
+ * /ws/assistants/{assistantName}/chat once and then exchanges frames.
+ *
+ * Frames:
+ * - Client to server: {"message": "..."} (same body as POST .../message)
+ * - Server to client: the same MessageResponse JSON, or an error body with
+ *   "success": false, one reply per message and in order
+ *
+ * The assistant is resolved during the handshake and kept with the session;
+ * it is only looked up again after an assistant has been written. Outbound
+ * frames go through a bounded per-session buffer, and a client that stops
+ * reading long enough to fill it is disconnected instead of growing memory.
+ */
+@Component
+public class AssistantChatWebSocketHandler extends TextWebSocketHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(AssistantChatWebSocketHandler.class);
+    
+    private static final String CHAT_SESSION_ATTRIBUTE = "chatSession";
+    
+    // Custom close code (4000-4999 range) sent when the bound assistant is deleted
+    static final CloseStatus ASSISTANT_GONE = new CloseStatus(4404, "Assistant no longer exists");
+    
+    private final AssistantService assistantService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int sendTimeLimitMillis;
+    private final int outboundBufferBytes;
+    
+    private final AtomicInteger openSessions = new AtomicInteger();
+    private final Counter messagesCounter;
+    
+    public AssistantChatWebSocketHandler(
+            AssistantService assistantService,
+            ObjectMapper objectMapper,
+            Validator validator,
+            MeterRegistry meterRegistry,
+            @Value("${app.assistant.chat.send-time-limit-ms:5000}") int sendTimeLimitMillis,
+            @Value("${app.assistant.chat.outbound-buffer-bytes:65536}") int outboundBufferBytes) {
+        this.assistantService = assistantService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.outboundBufferBytes = outboundBufferBytes;
+        
+        Gauge.builder("assistant.chat.sessions", openSessions, AtomicInteger::get)
+                .description("Open WebSocket chat sessions")
+                .register(meterRegistry);
+        this.messagesCounter = Counter.builder("assistant.chat.messages")
+                .description("Messages received over WebSocket chat sessions")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        AssistantSnapshot assistant = (AssistantSnapshot) session.getAttributes()
+                .get(AssistantChatHandshakeInterceptor.ASSISTANT_ATTRIBUTE);
+        long generation = (Long) session.getAttributes()
+                .get(AssistantChatHandshakeInterceptor.GENERATION_ATTRIBUTE);
+        
+        // TERMINATE closes the session once the outbound buffer or send time limit is exceeded
+        WebSocketSession outbound = new ConcurrentWebSocketSessionDecorator(
+                session, sendTimeLimitMillis, outboundBufferBytes,
+                ConcurrentWebSocketSessionDecorator.OverflowStrategy.TERMINATE);
+        
+        session.getAttributes().put(CHAT_SESSION_ATTRIBUTE, new ChatSession(outbound, assistant, generation));
+        openSessions.incrementAndGet();
+        log.debug("Chat session {} bound to assistant {}", session.getId(), assistant.getName());
+    }
+    
+    /**
+     * Answer one message frame
+     *
+     * Frames of a session are delivered one at a time, so a client can't get
+     * more than one message ahead of the replies it hasn't read yet.
+     */
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage frame) throws IOException {
+        ChatSession chat = (ChatSession) session.getAttributes().get(CHAT_SESSION_ATTRIBUTE);
+        if (chat == null) {
+            return;
+        }
+        messagesCounter.increment();
+        
+        MessageRequest messageRequest;
+        try {
+            messageRequest = objectMapper.readValue(frame.getPayload(), MessageRequest.class);
+        } catch (JsonProcessingException e) {
+            chat.send(ErrorResponse.forAssistant(ErrorCode.MALFORMED_MESSAGE, chat.assistantName,
+                    "Expected a JSON object like {\"message\": \"...\"}"));
+            return;
+        }
+        
+        String validationError = validate(messageRequest);
+        if (validationError != null) {
+            chat.send(ErrorResponse.forAssistant(ErrorCode.VALIDATION_FAILED, chat.assistantName, validationError));
+            return;
+        }
+        
+        AssistantSnapshot assistant = chat.currentAssistant();
+        if (assistant == null) {
+            chat.send(ErrorResponse.forAssistant(ErrorCode.ASSISTANT_DELETED, chat.assistantName));
+            chat.outbound.close(ASSISTANT_GONE);
+            return;
+        }
+        
+        chat.send(new PrerenderedMessageResponse(assistant, messageRequest.getMessage()));
+    }
+    
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("Chat session {} transport error: {}", session.getId(), exception.getMessage());
+    }
+    
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        if (session.getAttributes().remove(CHAT_SESSION_ATTRIBUTE) != null) {
+            openSessions.decrementAndGet();
+        }
+    }
+    
+    private String validate(MessageRequest messageRequest) {
+        if (messageRequest == null) {
+            return "Message is required and cannot be empty";
+        }
+        
+        Set<ConstraintViolation<MessageRequest>> violations = validator.validate(messageRequest);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        
+        StringBuilder errors = new StringBuilder();
+        for (ConstraintViolation<MessageRequest> violation : violations) {
+            if (errors.length() > 0) {
+                errors.append("; ");
+            }
+            errors.append(violation.getMessage());
+        }
+        return errors.toString();
+    }
+    
+    /**
+     * Per-connection state: the bounded outbound session and the bound assistant
+     */
+    private class ChatSession {
+    
+        private final WebSocketSession outbound;
+        private final String assistantName;
+        private AssistantSnapshot assistant;
+        private long generation;
+        
+        ChatSession(WebSocketSession outbound, AssistantSnapshot assistant, long generation) {
+            this.outbound = outbound;
+            this.assistantName = assistant.getName();
+            this.assistant = assistant;
+            this.generation = generation;
+        }
+        
+        /**
+         * The bound assistant, looked up again only if any assistant was written since
+         *
+         * @return The current snapshot, or null if the assistant was deleted
+         */
+        AssistantSnapshot currentAssistant() {
+            long current = assistantService.getAssistantGeneration();
+            if (current != generation) {
+                Optional<AssistantSnapshot> reloaded = assistantService.resolveAssistant(assistantName);
+                assistant = reloaded.orElse(null);
+                generation = current;
+            }
+            return assistant;
+        }
+        
+        /**
+         * Send an error from its code's pre-encoded fragments, like the HTTP error bodies
+         */
+        void send(ErrorResponse error) throws IOException {
+            if (!outbound.isOpen()) {
+                return;
+            }
+            outbound.sendMessage(new TextMessage(ErrorResponseConverter.encode(error)));
+        }
+        
+        /**
+         * Send a reply from the assistant's pre-rendered bytes instead of running Jackson
+         */
+        void send(PrerenderedMessageResponse response) throws IOException {
+            if (!outbound.isOpen()) {
+                return;
+            }
+            byte[] staticPart = response.staticPart();
+            byte[] dynamicPart = response.renderDynamicPart();
+            byte[] frame = Arrays.copyOf(staticPart, staticPart.length + dynamicPart.length);
+            System.arraycopy(dynamicPart, 0, frame, staticPart.length, dynamicPart.length);
+            outbound.sendMessage(new TextMessage(frame));
+        }
+    }
+}
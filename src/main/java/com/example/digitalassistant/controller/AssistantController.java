@@ -1,20 +1,48 @@
 package com.example.digitalassistant.controller;
 
 import com.example.digitalassistant.model.Assistant;
+import com.example.digitalassistant.model.AssistantImportSummary;
+import com.example.digitalassistant.model.AssistantPage;
+import com.example.digitalassistant.model.AssistantUpsertResult;
+import com.example.digitalassistant.model.BatchMessageItem;
+import com.example.digitalassistant.model.BatchMessageResult;
+import com.example.digitalassistant.model.ErrorCode;
+import com.example.digitalassistant.model.ErrorResponse;
 import com.example.digitalassistant.model.MessageRequest;
 import com.example.digitalassistant.model.MessageResponse;
+import com.example.digitalassistant.service.AssistantExportService;
+import com.example.digitalassistant.service.AssistantImportService;
+import com.example.digitalassistant.service.AssistantLoadCoalescer;
+import com.example.digitalassistant.service.AsyncMessageService;
 import com.example.digitalassistant.service.AssistantService;
+import com.example.digitalassistant.service.MessageStreamService;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * REST Controller for Digital Assistant API
@@ -27,40 +55,83 @@ import java.util.Optional;
 @RequestMapping("/api/assistants")
 @CrossOrigin(origins = "*")
 public class AssistantController {
-    
+
     // Service layer for business logic
     @Autowired
     private AssistantService assistantService;
     
+    // Streaming bulk import of assistants
+    @Autowired
+    private AssistantImportService assistantImportService;
+    
+    // Streaming NDJSON export of assistants
+    @Autowired
+    private AssistantExportService assistantExportService;
+    
+    // Message lookups on their own bounded executor
+    @Autowired
+    private AsyncMessageService asyncMessageService;
+    
+    // Server-Sent Events variant of the message endpoint
+    @Autowired
+    private MessageStreamService messageStreamService;
+    
+    // Reads the batch endpoint's body entry by entry
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    // Maximum number of messages accepted by the batch endpoint
+    @Value("${app.assistant.batch.max-size:1000}")
+    private int maxBatchSize;
+    
     /**
      * Creates a new assistant or updates an existing one
      */
     @PostMapping
     public ResponseEntity<?> createOrUpdateAssistant(@Valid @RequestBody Assistant assistant) {
         try {
-            boolean isExistingAssistant = assistantService.assistantExists(assistant.getName());
-            
-            Assistant savedAssistant = assistantService.createOrUpdateAssistant(
+            // Single upsert - tells us whether the assistant was created or updated
+            AssistantUpsertResult result = assistantService.createOrUpdateAssistant(
                 assistant.getName(), 
                 assistant.getResponseText()
             );
             
-            HttpStatus status = isExistingAssistant ? HttpStatus.OK : HttpStatus.CREATED;
-            String operation = isExistingAssistant ? "updated" : "created";
+            HttpStatus status = result.isCreated() ? HttpStatus.CREATED : HttpStatus.OK;
+            String operation = result.isCreated() ? "created" : "updated";
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Assistant '" + assistant.getName() + "' " + operation + " successfully");
             response.put("operation", operation);
-            response.put("assistant", savedAssistant);
+            response.put("assistant", result.getAssistant());
             return ResponseEntity.status(status).body(response);
-            
+        
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("error", "Error creating/updating assistant");
-            errorResponse.put("details", e.getMessage());
-            errorResponse.put("timestamp", LocalDateTime.now());
-            return ResponseEntity.badRequest().body(errorResponse);
+            return ApiExceptionHandler.toResponse(ErrorResponse.of(ErrorCode.CREATE_FAILED, e.getMessage()));
+        }
+    }
+    
+    /**
+     * Bulk import of assistants
+     * 
+     * HTTP Method: POST
+     * Endpoint: /api/assistants/bulk
+     * Content-Type: application/json (array of assistants) or application/x-ndjson (one per line)
+     * 
+     * The body is read as a stream and written in chunked, batched transactions.
+     * Each record gets its own result (created, updated, invalid or failed), so
+     * one bad record doesn't fail the whole import.
+     * 
+     * @param body The request body stream
+     * @return ResponseEntity with totals and per-record results
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> importAssistants(InputStream body) {
+        try {
+            AssistantImportSummary summary = assistantImportService.importAssistants(body);
+            return ResponseEntity.ok(summary);
+        
+        } catch (IOException e) {
+            return ApiExceptionHandler.toResponse(ErrorResponse.of(ErrorCode.IMPORT_READ_FAILED, e.getMessage()));
         }
     }
     
@@ -70,47 +141,192 @@ public class AssistantController {
     @PostMapping("/{assistantName}/message")
     public ResponseEntity<?> sendMessage(
             @PathVariable String assistantName,
-            @Valid @RequestBody MessageRequest messageRequest) {
+            @Valid @RequestBody MessageRequest messageRequest,
+            HttpServletRequest request) {
         try {
-            MessageResponse response = assistantService.sendMessageToAssistant(assistantName, messageRequest);
-            return ResponseEntity.ok(response);
+            Optional<MessageResponse> response = assistantService.sendMessageToAssistant(
+                    assistantName, messageRequest, request.getRemoteAddr());
+            if (response.isPresent()) {
+                return ResponseEntity.ok(response.get());
+            }
             
-        } catch (AssistantService.AssistantNotFoundException e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("error", "Assistant not found");
-            errorResponse.put("details", e.getMessage());
-            errorResponse.put("assistantName", assistantName);
-            errorResponse.put("timestamp", LocalDateTime.now());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+            // Assistant not found - reported without an exception
+            return ApiExceptionHandler.toResponse(
+                    ErrorResponse.forAssistant(ErrorCode.ASSISTANT_NOT_FOUND, assistantName));
+        
+        } catch (AssistantLoadCoalescer.LoadTimeoutException e) {
+            return busy(e.getMessage());
+        } catch (Exception e) {
+            return ApiExceptionHandler.toResponse(
+                    ErrorResponse.forAssistant(ErrorCode.MESSAGE_FAILED, assistantName, e.getMessage()));
+        }
+    }
+    
+    /**
+     * Sends a message to an assistant without holding a request thread
+     * 
+     * HTTP Method: POST
+     * Endpoint: /api/assistants/{assistantName}/message/async
+     * 
+     * Same request and responses as the message endpoint. The lookup runs on
+     * the message executor (app.assistant.async.*) and the Tomcat thread is
+     * released until it completes. When the executor is saturated the request
+     * gets a 503 with Retry-After instead of queueing without bound.
+     * 
+     * @param assistantName The assistant to message
+     * @param messageRequest The user's message
+     * @param request The servlet request, for the caller address
+     * @return Future of the response entity
+     */
+    @PostMapping("/{assistantName}/message/async")
+    public CompletableFuture<ResponseEntity<?>> sendMessageAsync(
+            @PathVariable String assistantName,
+            @Valid @RequestBody MessageRequest messageRequest,
+            HttpServletRequest request) {
+        CompletableFuture<Optional<MessageResponse>> response;
+        try {
+            response = asyncMessageService.sendMessageToAssistant(
+                    assistantName, messageRequest, request.getRemoteAddr());
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(busy("Too many messages in flight, please retry"));
+        }
+        
+        return response.handle((found, failure) -> {
+            if (failure != null) {
+                Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+                if (cause instanceof AssistantLoadCoalescer.LoadTimeoutException) {
+                    return busy(cause.getMessage());
+                }
+                return ApiExceptionHandler.toResponse(
+                        ErrorResponse.forAssistant(ErrorCode.MESSAGE_FAILED, assistantName, cause.getMessage()));
+            }
+            if (found.isPresent()) {
+                return ResponseEntity.ok(found.get());
+            }
+            return ApiExceptionHandler.toResponse(
+                    ErrorResponse.forAssistant(ErrorCode.ASSISTANT_NOT_FOUND, assistantName));
+        });
+    }
+    
+    /**
+     * Sends a message to an assistant and streams the response as Server-Sent Events
+     * 
+     * HTTP Method: POST
+     * Endpoint: /api/assistants/{assistantName}/message/stream
+     * Events: start, chunk (one per piece of the response), done
+     * 
+     * The response is split by app.assistant.stream.chunking (word, sentence or
+     * fixed-bytes). Unknown assistants get the same 404 JSON body as the
+     * non-streaming endpoint.
+     * 
+     * @param assistantName The assistant to message
+     * @param messageRequest The user's message
+     * @return ResponseEntity with the open event stream, or a 404 error body
+     */
+    @PostMapping("/{assistantName}/message/stream")
+    public ResponseEntity<?> streamMessage(
+            @PathVariable String assistantName,
+            @Valid @RequestBody MessageRequest messageRequest) {
+        try {
+            Optional<SseEmitter> emitter = messageStreamService.streamMessage(assistantName, messageRequest);
+            if (emitter.isPresent()) {
+                return ResponseEntity.ok(emitter.get());
+            }
             
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(ErrorResponse.forAssistant(ErrorCode.ASSISTANT_NOT_FOUND, assistantName));
+        
         } catch (Exception e) {
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("error", "Error processing message");
-            errorResponse.put("details", e.getMessage());
-            errorResponse.put("assistantName", assistantName);
-            errorResponse.put("timestamp", LocalDateTime.now());
-            return ResponseEntity.badRequest().body(errorResponse);
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(ErrorResponse.forAssistant(ErrorCode.MESSAGE_FAILED, assistantName, e.getMessage()));
         }
     }
     
     /**
-     * Get all digital assistants
+     * Sends many messages, possibly to different assistants, in one request
+     * 
+     * HTTP Method: POST
+     * Endpoint: /api/assistants/messages:batch
+     * Body: JSON array of {"assistantName": "...", "message": "..."}
+     * 
+     * All distinct assistant names are resolved at once, and every entry gets
+     * its own status (200, 400 or 404) in request order, so one bad entry
+     * doesn't fail the batch.
+     * 
+     * I read the array one entry at a time instead of binding a List, so an
+     * oversized batch is rejected as soon as entry maxBatchSize + 1 turns up
+     * rather than after Jackson has built every entry on the heap.
+     * 
+     * @param body The request body, a JSON array of message entries
+     * @return ResponseEntity with one result per entry
+     */
+    @PostMapping(value = "/messages:batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> sendMessages(InputStream body) {
+        List<BatchMessageItem> items = new ArrayList<>();
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return ApiExceptionHandler.toResponse(ErrorResponse.of(ErrorCode.MALFORMED_REQUEST,
+                        "Request body must be a JSON array of messages"));
+            }
+            
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new JsonParseException(parser, "Unexpected end of input");
+                }
+                if (items.size() == maxBatchSize) {
+                    return ApiExceptionHandler.toResponse(ErrorResponse.of(ErrorCode.BATCH_TOO_LARGE,
+                            "A batch may contain at most " + maxBatchSize + " messages"));
+                }
+                // A null entry stays null so it gets its own 400 result, as before
+                items.add(objectMapper.readValue(parser, BatchMessageItem.class));
+            }
+        } catch (IOException e) {
+            return ApiExceptionHandler.toResponse(ErrorResponse.of(ErrorCode.MALFORMED_REQUEST,
+                    "Request body is missing or is not valid JSON"));
+        }
+        
+        List<BatchMessageResult> results = assistantService.sendMessagesToAssistants(items);
+        return ResponseEntity.ok(results);
+    }
+    
+    /**
+     * Get digital assistants, optionally one page at a time
      * 
      * HTTP Method: GET
      * Endpoint: /api/assistants
+     * Query Parameters (optional):
+     * - size: Page size (capped at app.assistant.page.max-size)
+     * - cursor: nextCursor token from the previous page
      * 
-     * Returns a list of all assistants ordered by creation date (newest first).
+     * Without parameters, returns a list of all assistants ordered by creation
+     * date (newest first). With size and/or cursor, returns one page of
+     * read-only assistant summaries plus a nextCursor for the following page.
      * This endpoint is useful for:
      * - Frontend applications to display available assistants
      * - Administrative purposes to see all configured assistants
      * - Integration testing and verification
      * 
-     * @return ResponseEntity containing list of all assistants
+     * @param cursor Cursor token from the previous page
+     * @param size Requested page size
+     * @return ResponseEntity containing the assistants or the requested page
      */
     @GetMapping
-    public ResponseEntity<List<Assistant>> getAllAssistants() {
+    public ResponseEntity<?> getAllAssistants(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        if (cursor != null || size != null) {
+            try {
+                AssistantPage page = assistantService.getAssistantPage(cursor, size);
+                return ResponseEntity.ok(page);
+            
+            } catch (IllegalArgumentException e) {
+                return ApiExceptionHandler.toResponse(ErrorResponse.of(ErrorCode.INVALID_PAGE_REQUEST, e.getMessage()));
+            }
+        }
+        
         // Retrieve all assistants from the service layer
         List<Assistant> assistants = assistantService.getAllAssistants();
         
@@ -118,6 +334,28 @@ public class AssistantController {
         return ResponseEntity.ok(assistants);
     }
     
+    /**
+     * Export all assistants as newline-delimited JSON
+     * 
+     * HTTP Method: GET
+     * Endpoint: /api/assistants/export
+     * 
+     * Rows are streamed from a database cursor straight into the response, so
+     * the export works for tables of any size. The response is gzip-compressed
+     * when the client sends Accept-Encoding: gzip (see server.compression.*).
+     * 
+     * @param response The servlet response the export is written to
+     * @throws IOException if writing the response fails
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportAssistants(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"assistants.ndjson\"");
+        
+        assistantExportService.exportAssistants(response.getOutputStream());
+    }
+    
     /**
      * Get a specific assistant by name
      * 
@@ -144,13 +382,8 @@ public class AssistantController {
             return ResponseEntity.ok(assistant.get());
         } else {
             // Assistant not found - return 404 error
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("error", "Assistant not found");
-            errorResponse.put("details", "Assistant with name '" + assistantName + "' does not exist");
-            errorResponse.put("assistantName", assistantName);
-            errorResponse.put("timestamp", LocalDateTime.now());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
+            return ApiExceptionHandler.toResponse(
+                    ErrorResponse.forAssistant(ErrorCode.ASSISTANT_DOES_NOT_EXIST, assistantName));
         }
     }
     
@@ -165,33 +398,23 @@ public class AssistantController {
      * This endpoint permanently removes an assistant from the system.
      * Use with caution as this operation cannot be undone.
      * 
+     * Unknown assistants are reported as 404 by {@link ApiExceptionHandler}.
+     * 
      * @param assistantName The name of the assistant to delete
-     * @return ResponseEntity with success confirmation or error response
+     * @return ResponseEntity with success confirmation
      */
     @DeleteMapping("/{assistantName}")
     public ResponseEntity<?> deleteAssistant(@PathVariable String assistantName) {
-        try {
-            // Attempt to delete the assistant
-            assistantService.deleteAssistant(assistantName);
-            
-            // Return success confirmation
-            Map<String, Object> successResponse = new HashMap<>();
-            successResponse.put("success", true);
-            successResponse.put("message", "Assistant '" + assistantName + "' deleted successfully");
-            successResponse.put("assistantName", assistantName);
-            successResponse.put("timestamp", LocalDateTime.now());
-            return ResponseEntity.ok(successResponse);
-            
-        } catch (AssistantService.AssistantNotFoundException e) {
-            // Handle case where assistant doesn't exist
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("success", false);
-            errorResponse.put("error", "Assistant not found");
-            errorResponse.put("details", e.getMessage());
-            errorResponse.put("assistantName", assistantName);
-            errorResponse.put("timestamp", LocalDateTime.now());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
-        }
+        // Attempt to delete the assistant (throws a stackless AssistantNotFoundException)
+        assistantService.deleteAssistant(assistantName);
+        
+        // Return success confirmation
+        Map<String, Object> successResponse = new HashMap<>();
+        successResponse.put("success", true);
+        successResponse.put("message", "Assistant '" + assistantName + "' deleted successfully");
+        successResponse.put("assistantName", assistantName);
+        successResponse.put("timestamp", LocalDateTime.now());
+        return ResponseEntity.ok(successResponse);
     }
     
     /**
@@ -203,6 +426,7 @@ public class AssistantController {
      * This endpoint provides:
      * - Service status information
      * - Current assistant count
+     * - Assistant cache hit/miss statistics
      * - Timestamp for monitoring
      * 
      * Used for:
@@ -221,9 +445,16 @@ public class AssistantController {
             // Return comprehensive health information
             Map<String, Object> endpoints = new HashMap<>();
             endpoints.put("createAssistant", "POST /api/assistants");
+            endpoints.put("importAssistants", "POST /api/assistants/bulk");
             endpoints.put("sendMessage", "POST /api/assistants/{name}/message");
+            endpoints.put("sendMessageAsync", "POST /api/assistants/{name}/message/async");
+            endpoints.put("streamMessage", "POST /api/assistants/{name}/message/stream");
+            endpoints.put("chatSession", "WS /ws/assistants/{name}/chat");
+            endpoints.put("sendMessages", "POST /api/assistants/messages:batch");
             endpoints.put("getAllAssistants", "GET /api/assistants");
+            endpoints.put("getAssistantPage", "GET /api/assistants?size={size}&cursor={cursor}");
             endpoints.put("getAssistant", "GET /api/assistants/{name}");
+            endpoints.put("exportAssistants", "GET /api/assistants/export");
             endpoints.put("deleteAssistant", "DELETE /api/assistants/{name}");
             
             Map<String, Object> healthResponse = new HashMap<>();
@@ -231,11 +462,12 @@ public class AssistantController {
             healthResponse.put("service", "Digital Assistant Service");
             healthResponse.put("version", "1.0.0");
             healthResponse.put("totalAssistants", assistantCount);
+            healthResponse.put("cache", assistantService.getCacheStats());
             healthResponse.put("timestamp", LocalDateTime.now());
             healthResponse.put("endpoints", endpoints);
             
             return ResponseEntity.ok(healthResponse);
-            
+        
         } catch (Exception e) {
             // Return error status if health check fails
             Map<String, Object> errorResponse = new HashMap<>();
@@ -248,28 +480,11 @@ public class AssistantController {
     }
     
     /**
-     * Global exception handler for validation errors
-     * 
-     * This method handles validation errors that occur when @Valid annotation
-     * finds issues with request data (e.g., missing required fields, size constraints)
-     * 
-     * @param ex The validation exception
-     * @return ResponseEntity with detailed validation error information
+     * 503 with Retry-After, for requests the service can't take on right now
      */
-    @ExceptionHandler(org.springframework.web.bind.MethodArgumentNotValidException.class)
-    public ResponseEntity<?> handleValidationErrors(org.springframework.web.bind.MethodArgumentNotValidException ex) {
-        // Extract validation error details
-        Map<String, String> errors = new java.util.HashMap<>();
-        ex.getBindingResult().getFieldErrors().forEach(error -> 
-            errors.put(error.getField(), error.getDefaultMessage())
-        );
-        
-        // Return structured error response
-        Map<String, Object> errorResponse = new HashMap<>();
-        errorResponse.put("success", false);
-        errorResponse.put("error", "Validation failed");
-        errorResponse.put("validationErrors", errors);
-        errorResponse.put("timestamp", LocalDateTime.now());
-        return ResponseEntity.badRequest().body(errorResponse);
+    private static ResponseEntity<?> busy(String details) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ErrorResponse.of(ErrorCode.SERVICE_BUSY, details));
     }
 }
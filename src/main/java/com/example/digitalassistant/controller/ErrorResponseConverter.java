@@ -0,0 +1,133 @@
+package com.example.digitalassistant.controller;
+
+import com.example.digitalassistant.model.ErrorCode;
+import com.example.digitalassistant.model.ErrorResponse;
+import com.example.digitalassistant.model.JsonText;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Writes {@link ErrorResponse} bodies from pre-encoded fragments.
+ * The error title and the details template come from the {@link ErrorCode};
+ * only the assistant name, free-form details and timestamp are encoded per
+ * response. The output matches what Jackson writes for the same object.
+ */
+public class ErrorResponseConverter extends AbstractHttpMessageConverter<ErrorResponse> {
+
+    private static final byte[] DETAILS = bytes(",\"details\":\"");
+    private static final byte[] ASSISTANT_NAME = bytes(",\"assistantName\":\"");
+    private static final byte[] VALIDATION_ERRORS = bytes(",\"validationErrors\":");
+    private static final byte[] TIMESTAMP = bytes(",\"timestamp\":\"");
+    private static final byte[] QUOTE = bytes("\"");
+    private static final byte[] END = bytes("\"}");
+    
+    public ErrorResponseConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+    
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ErrorResponse.class == clazz;
+    }
+    
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+    
+    @Override
+    protected ErrorResponse readInternal(Class<? extends ErrorResponse> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Error responses are write-only", inputMessage);
+    }
+    
+    @Override
+    protected void writeInternal(ErrorResponse response, HttpOutputMessage outputMessage) throws IOException {
+        // Encode first so Content-Length can be set before the body is opened
+        byte[] json = encode(response);
+        outputMessage.getHeaders().setContentLength(json.length);
+        outputMessage.getBody().write(json);
+    }
+    
+    /**
+     * The JSON body of an error, also used for WebSocket error frames
+     */
+    static byte[] encode(ErrorResponse response) {
+        ErrorCode code = response.getCode();
+        byte[] name = response.getAssistantName() == null ? null : escaped(response.getAssistantName());
+        byte[] details = response.getRawDetails() == null ? null : escaped(response.getRawDetails());
+        boolean templated = details == null && name != null && code.hasDetailsTemplate();
+        byte[] validationErrors = response.getValidationErrors() == null ? null
+                : validationErrors(response.getValidationErrors());
+        byte[] timestamp = response.getTimestampBytes();
+        
+        int length = code.headJson().length + TIMESTAMP.length + timestamp.length + END.length;
+        if (details != null) {
+            length += DETAILS.length + details.length + QUOTE.length;
+        } else if (templated) {
+            length += DETAILS.length + code.detailsPrefixJson().length + name.length
+                    + code.detailsSuffixJson().length + QUOTE.length;
+        }
+        if (name != null) {
+            length += ASSISTANT_NAME.length + name.length + QUOTE.length;
+        }
+        if (validationErrors != null) {
+            length += VALIDATION_ERRORS.length + validationErrors.length;
+        }
+        
+        ByteBuffer body = ByteBuffer.allocate(length);
+        body.put(code.headJson());
+        if (details != null) {
+            body.put(DETAILS).put(details).put(QUOTE);
+        } else if (templated) {
+            body.put(DETAILS).put(code.detailsPrefixJson()).put(name).put(code.detailsSuffixJson()).put(QUOTE);
+        }
+        if (name != null) {
+            body.put(ASSISTANT_NAME).put(name).put(QUOTE);
+        }
+        if (validationErrors != null) {
+            body.put(VALIDATION_ERRORS).put(validationErrors);
+        }
+        body.put(TIMESTAMP).put(timestamp).put(END);
+        return body.array();
+    }
+    
+    private static byte[] escaped(String value) {
+        StringBuilder json = new StringBuilder(value.length() + 8);
+        JsonText.appendEscaped(json, value);
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static byte[] validationErrors(Map<String, String> errors) {
+        StringBuilder json = new StringBuilder(64 * (errors.size() + 1));
+        json.append('{');
+        for (Map.Entry<String, String> error : errors.entrySet()) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            json.append('"');
+            JsonText.appendEscaped(json, error.getKey());
+            json.append("\":");
+            if (error.getValue() == null) {
+                json.append("null");
+            } else {
+                json.append('"');
+                JsonText.appendEscaped(json, error.getValue());
+                json.append('"');
+            }
+        }
+        json.append('}');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
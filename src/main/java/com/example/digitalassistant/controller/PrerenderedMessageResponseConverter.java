@@ -0,0 +1,52 @@
+package com.example.digitalassistant.controller;
+
+import com.example.digitalassistant.model.PrerenderedMessageResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes {@link PrerenderedMessageResponse} bodies without Jackson.
+ * The assistant's cached bytes are copied as-is and only the user's message
+ * and the timestamp are rendered; the output matches what Jackson writes.
+ */
+public class PrerenderedMessageResponseConverter extends AbstractHttpMessageConverter<PrerenderedMessageResponse> {
+
+    public PrerenderedMessageResponseConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+    
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PrerenderedMessageResponse.class.isAssignableFrom(clazz);
+    }
+    
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+    
+    @Override
+    protected PrerenderedMessageResponse readInternal(Class<? extends PrerenderedMessageResponse> clazz,
+                                                      HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Pre-rendered responses are write-only", inputMessage);
+    }
+    
+    @Override
+    protected void writeInternal(PrerenderedMessageResponse response, HttpOutputMessage outputMessage)
+            throws IOException {
+        byte[] staticPart = response.staticPart();
+        byte[] dynamicPart = response.renderDynamicPart();
+        
+        // Headers are still writable until the body is opened
+        outputMessage.getHeaders().setContentLength(staticPart.length + dynamicPart.length);
+        OutputStream body = outputMessage.getBody();
+        body.write(staticPart);
+        body.write(dynamicPart);
+    }
+}
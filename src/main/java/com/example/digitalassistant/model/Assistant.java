@@ -1,5 +1,10 @@
 package com.example.digitalassistant.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
@@ -8,17 +13,56 @@ import java.time.LocalDateTime;
 /**
  * JPA Entity representing a digital assistant with name and response text.
  * I implemented this with validation constraints and automatic timestamps.
+ * 
+ * The composite (created_at, id) index backs the keyset-paginated listing.
+ * 
+ * Assistants are read far more often than written, so the entity, its
+ * name → id resolution and the cacheable repository queries live in
+ * Hibernate's second-level cache (Caffeine through JCache, see application.conf).
  */
 @Entity
-@Table(name = "assistants")
+@Table(name = "assistants", indexes = {
+    @Index(name = "idx_assistants_created_at_id", columnList = "created_at, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Assistant.CACHE_REGION)
+@NaturalIdCache(region = Assistant.NATURAL_ID_CACHE_REGION)
 public class Assistant {
+
+    /**
+     * Second-level cache region holding Assistant entities
+     */
+    public static final String CACHE_REGION = "assistants";
+    
+    /**
+     * Second-level cache region resolving assistant names to ids
+     */
+    public static final String NATURAL_ID_CACHE_REGION = "assistant-names";
+    
+    /**
+     * Query cache region of the cacheable assistant queries
+     * Native JDBC writes evict it, see JpaAssistantStore
+     */
+    public static final String QUERY_CACHE_REGION = "assistant-queries";
+    
+    /**
+     * Name of the database sequence that hands out assistant ids
+     */
+    public static final String ID_SEQUENCE = "assistants_seq";
+    
+    /**
+     * Number of ids reserved per sequence call (pooled-lo: value v covers v .. v + size - 1)
+     * Native JDBC writes reserve ids in the same blocks, see AssistantIdAllocator
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
     
     /**
      * Primary key - auto-generated unique identifier
-     * Uses IDENTITY strategy for H2 database compatibility
+     * Uses a pooled SEQUENCE rather than IDENTITY so inserts can be JDBC-batched
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "assistant_id")
+    @SequenceGenerator(name = "assistant_id", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     /**
@@ -29,7 +73,10 @@ public class Assistant {
      * - Cannot be null or empty
      * - Maximum 100 characters
      * - Must be unique in database
+     * 
+     * Mapped as the natural id; names never change once an assistant exists.
      */
+    @NaturalId
     @NotBlank(message = "Assistant name is required")
     @Size(max = 100, message = "Assistant name must not exceed 100 characters")
     @Column(unique = true, nullable = false)
@@ -0,0 +1,88 @@
+package com.example.digitalassistant.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Result of importing a single assistant record through the bulk endpoint.
+ * I kept this small since an import can return tens of thousands of them.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AssistantImportResult {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String INVALID = "invalid";
+    public static final String FAILED = "failed";
+    
+    private final int index;
+    private final String name;
+    private final String status;
+    private final Long id;
+    private final String error;
+    
+    public AssistantImportResult(int index, String name, String status, Long id, String error) {
+        this.index = index;
+        this.name = name;
+        this.status = status;
+        this.id = id;
+        this.error = error;
+    }
+    
+    /**
+     * Result for a record that was written to the database
+     * 
+     * @param index Position of the record in the request
+     * @param result The upsert outcome for the record
+     * @return A created or updated result
+     */
+    public static AssistantImportResult stored(int index, AssistantUpsertResult result) {
+        Assistant assistant = result.getAssistant();
+        return new AssistantImportResult(index, assistant.getName(),
+                result.isCreated() ? CREATED : UPDATED, assistant.getId(), null);
+    }
+    
+    /**
+     * Result for a record that failed validation
+     */
+    public static AssistantImportResult invalid(int index, String name, String error) {
+        return new AssistantImportResult(index, name, INVALID, null, error);
+    }
+    
+    /**
+     * Result for a record that could not be read or written
+     */
+    public static AssistantImportResult failed(int index, String name, String error) {
+        return new AssistantImportResult(index, name, FAILED, null, error);
+    }
+    
+    public int getIndex() {
+        return index;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    @Override
+    public String toString() {
+        return "AssistantImportResult{" +
+                "index=" + index +
+                ", name='" + name + '\'' +
+                ", status='" + status + '\'' +
+                ", id=" + id +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
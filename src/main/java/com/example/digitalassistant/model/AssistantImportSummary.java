@@ -0,0 +1,78 @@
+package com.example.digitalassistant.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response body of the bulk import endpoint: totals per outcome plus
+ * one {@link AssistantImportResult} per record, in request order.
+ */
+public class AssistantImportSummary {
+
+    private int total;
+    private int created;
+    private int updated;
+    private int invalid;
+    private int failed;
+    private final List<AssistantImportResult> results = new ArrayList<>();
+    
+    /**
+     * Record the outcome of one imported record
+     * 
+     * @param result The per-record result
+     */
+    public void add(AssistantImportResult result) {
+        results.add(result);
+        total++;
+        
+        switch (result.getStatus()) {
+            case AssistantImportResult.CREATED:
+                created++;
+                break;
+            case AssistantImportResult.UPDATED:
+                updated++;
+                break;
+            case AssistantImportResult.INVALID:
+                invalid++;
+                break;
+            default:
+                failed++;
+                break;
+        }
+    }
+    
+    public int getTotal() {
+        return total;
+    }
+    
+    public int getCreated() {
+        return created;
+    }
+    
+    public int getUpdated() {
+        return updated;
+    }
+    
+    public int getInvalid() {
+        return invalid;
+    }
+    
+    public int getFailed() {
+        return failed;
+    }
+    
+    public List<AssistantImportResult> getResults() {
+        return results;
+    }
+    
+    @Override
+    public String toString() {
+        return "AssistantImportSummary{" +
+                "total=" + total +
+                ", created=" + created +
+                ", updated=" + updated +
+                ", invalid=" + invalid +
+                ", failed=" + failed +
+                '}';
+    }
+}
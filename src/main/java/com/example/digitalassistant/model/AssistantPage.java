@@ -0,0 +1,45 @@
+package com.example.digitalassistant.model;
+
+import java.util.List;
+
+/**
+ * One page of the keyset-paginated assistant listing.
+ * nextCursor is null on the last page; otherwise pass it back as the
+ * cursor parameter to fetch the following page.
+ */
+public class AssistantPage {
+
+    private final List<AssistantSummary> items;
+    private final String nextCursor;
+    private final int size;
+    
+    public AssistantPage(List<AssistantSummary> items, String nextCursor, int size) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.size = size;
+    }
+    
+    public List<AssistantSummary> getItems() {
+        return items;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    /**
+     * @return The page size that was applied to this request
+     */
+    public int getSize() {
+        return size;
+    }
+    
+    @Override
+    public String toString() {
+        return "AssistantPage{" +
+                "items=" + items.size() +
+                ", nextCursor='" + nextCursor + '\'' +
+                ", size=" + size +
+                '}';
+    }
+}
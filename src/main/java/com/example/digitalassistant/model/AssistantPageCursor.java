@@ -0,0 +1,74 @@
+package com.example.digitalassistant.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the assistant listing, ordered by (createdAt DESC, id DESC).
+ *
+ * Encoded as an opaque URL-safe token so clients don't depend on its format.
+ * The next page starts strictly after the (createdAt, id) pair in the cursor,
+ * which stays stable while assistants are added or removed.
+ */
+public final class AssistantPageCursor {
+
+    private static final char SEPARATOR = '|';
+    
+    private final LocalDateTime createdAt;
+    private final long id;
+    
+    public AssistantPageCursor(LocalDateTime createdAt, long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+    
+    /**
+     * Cursor pointing just past the given listing entry
+     *
+     * @param last The last entry of the current page
+     * @return Cursor for the next page
+     */
+    public static AssistantPageCursor after(AssistantSummary last) {
+        return new AssistantPageCursor(last.getCreatedAt(), last.getId());
+    }
+    
+    /**
+     * Decode a token produced by {@link #encode()}
+     *
+     * @param token The opaque cursor token from a previous page
+     * @return The decoded cursor
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static AssistantPageCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return new AssistantPageCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+    
+    /**
+     * @return Opaque URL-safe token for this cursor
+     */
+    public String encode() {
+        String value = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public long getId() {
+        return id;
+    }
+}
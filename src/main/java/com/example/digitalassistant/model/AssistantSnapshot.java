@@ -0,0 +1,74 @@
+package com.example.digitalassistant.model;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Immutable read-only view of an assistant used on the message path.
+ * I added this so cached lookups never hand out managed JPA entities.
+ *
+ * The snapshot also carries the pre-escaped UTF-8 bytes of the static part of
+ * a message response, so only the user's message and the timestamp are
+ * rendered per request. A new snapshot (and new bytes) is loaded whenever
+ * the assistant is written, since writes evict it from the cache.
+ */
+public final class AssistantSnapshot {
+
+    private final String name;
+    private final String responseText;
+    
+    // {"assistantName":"...","response":"...","originalMessage":" - built on first use
+    private volatile byte[] messageResponsePrefix;
+    
+    public AssistantSnapshot(String name, String responseText) {
+        this.name = name;
+        this.responseText = responseText;
+    }
+    
+    /**
+     * Copy the fields the message path needs out of a loaded entity
+     *
+     * @param assistant The entity to snapshot
+     * @return A detached, immutable snapshot of the assistant
+     */
+    public static AssistantSnapshot of(Assistant assistant) {
+        return new AssistantSnapshot(assistant.getName(), assistant.getResponseText());
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getResponseText() {
+        return responseText;
+    }
+    
+    /**
+     * Pre-rendered start of a message response body, up to the opening quote of originalMessage
+     *
+     * Built once per snapshot; a racing first use may build it twice, which is harmless.
+     *
+     * @return UTF-8 JSON bytes; don't modify the returned array
+     */
+    public byte[] getMessageResponsePrefix() {
+        byte[] prefix = messageResponsePrefix;
+        if (prefix == null) {
+            StringBuilder json = new StringBuilder(64 + name.length() + responseText.length());
+            json.append("{\"assistantName\":\"");
+            JsonText.appendEscaped(json, name);
+            json.append("\",\"response\":\"");
+            JsonText.appendEscaped(json, responseText);
+            json.append("\",\"originalMessage\":\"");
+            prefix = json.toString().getBytes(StandardCharsets.UTF_8);
+            messageResponsePrefix = prefix;
+        }
+        return prefix;
+    }
+    
+    @Override
+    public String toString() {
+        return "AssistantSnapshot{" +
+                "name='" + name + '\'' +
+                ", responseText='" + responseText + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.digitalassistant.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of an assistant for listings.
+ * I use this instead of the entity so paged reads are built straight from the
+ * query result and never enter the persistence context.
+ */
+public final class AssistantSummary {
+
+    private final Long id;
+    private final String name;
+    private final String responseText;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    
+    /**
+     * Constructor used by JPQL constructor expressions
+     */
+    public AssistantSummary(Long id, String name, String responseText,
+                            LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.responseText = responseText;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getResponseText() {
+        return responseText;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "AssistantSummary{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.digitalassistant.model;
+
+/**
+ * Outcome of a create-or-update write: the stored assistant and whether
+ * the row was newly created or an existing one was updated.
+ * I added this so callers can pick 201 vs 200 without an extra existence query.
+ */
+public class AssistantUpsertResult {
+
+    private final Assistant assistant;
+    private final boolean created;
+    
+    public AssistantUpsertResult(Assistant assistant, boolean created) {
+        this.assistant = assistant;
+        this.created = created;
+    }
+    
+    public Assistant getAssistant() {
+        return assistant;
+    }
+    
+    /**
+     * @return true if a new assistant was inserted, false if an existing one was updated
+     */
+    public boolean isCreated() {
+        return created;
+    }
+    
+    @Override
+    public String toString() {
+        return "AssistantUpsertResult{" +
+                "assistant=" + assistant +
+                ", created=" + created +
+                '}';
+    }
+}
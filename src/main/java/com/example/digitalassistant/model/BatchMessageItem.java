@@ -0,0 +1,50 @@
+package com.example.digitalassistant.model;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+
+/**
+ * One entry of a batch message request: which assistant to message and what to send.
+ * Same constraints as {@link MessageRequest}, checked per item so one bad entry
+ * doesn't fail the whole batch.
+ */
+public class BatchMessageItem {
+
+    @NotBlank(message = "Assistant name is required")
+    private String assistantName;
+    
+    @NotBlank(message = "Message is required and cannot be empty")
+    @Size(max = 500, message = "Message must not exceed 500 characters")
+    private String message;
+    
+    public BatchMessageItem() {}
+    
+    public BatchMessageItem(String assistantName, String message) {
+        this.assistantName = assistantName;
+        this.message = message;
+    }
+    
+    public String getAssistantName() {
+        return assistantName;
+    }
+    
+    public void setAssistantName(String assistantName) {
+        this.assistantName = assistantName;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+    
+    @Override
+    public String toString() {
+        return "BatchMessageItem{" +
+                "assistantName='" + assistantName + '\'' +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
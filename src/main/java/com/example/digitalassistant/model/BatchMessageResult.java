@@ -0,0 +1,62 @@
+package com.example.digitalassistant.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Result for one entry of a batch message request, in request order.
+ * status uses HTTP semantics per item: 200 with a response, 404 for an
+ * unknown assistant, 400 for an invalid entry.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchMessageResult {
+
+    private final int index;
+    private final int status;
+    private final MessageResponse response;
+    private final String error;
+    
+    public BatchMessageResult(int index, int status, MessageResponse response, String error) {
+        this.index = index;
+        this.status = status;
+        this.response = response;
+        this.error = error;
+    }
+    
+    public static BatchMessageResult ok(int index, MessageResponse response) {
+        return new BatchMessageResult(index, 200, response, null);
+    }
+    
+    public static BatchMessageResult notFound(int index, String assistantName) {
+        return new BatchMessageResult(index, 404, null, "Assistant '" + assistantName + "' not found");
+    }
+    
+    public static BatchMessageResult invalid(int index, String error) {
+        return new BatchMessageResult(index, 400, null, error);
+    }
+    
+    public int getIndex() {
+        return index;
+    }
+    
+    public int getStatus() {
+        return status;
+    }
+    
+    public MessageResponse getResponse() {
+        return response;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    @Override
+    public String toString() {
+        return "BatchMessageResult{" +
+                "index=" + index +
+                ", status=" + status +
+                ", response=" + response +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
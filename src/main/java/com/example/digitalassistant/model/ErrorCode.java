@@ -0,0 +1,107 @@
+package com.example.digitalassistant.model;
+
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Every error the API reports, with its HTTP status, title and details template.
+ * I pre-encode the static JSON of each error once here so error responses
+ * only render the parts that change (assistant name, timestamp).
+ *
+ * Templated details are "detailsPrefix + assistantName + detailsSuffix".
+ */
+public enum ErrorCode {
+
+    ASSISTANT_NOT_FOUND(HttpStatus.NOT_FOUND, "Assistant not found",
+            "Assistant with name '", "' not found. Please create the assistant first or check the name spelling."),
+    ASSISTANT_DOES_NOT_EXIST(HttpStatus.NOT_FOUND, "Assistant not found",
+            "Assistant with name '", "' does not exist"),
+    ASSISTANT_NOT_DELETABLE(HttpStatus.NOT_FOUND, "Assistant not found",
+            "Cannot delete assistant '", "' because it doesn't exist. Please check the name spelling."),
+    ASSISTANT_DELETED(HttpStatus.NOT_FOUND, "Assistant not found",
+            "Assistant with name '", "' was deleted."),
+    VALIDATION_FAILED(HttpStatus.BAD_REQUEST, "Validation failed"),
+    MALFORMED_REQUEST(HttpStatus.BAD_REQUEST, "Malformed request"),
+    MALFORMED_MESSAGE(HttpStatus.BAD_REQUEST, "Malformed message"),
+    INVALID_PAGE_REQUEST(HttpStatus.BAD_REQUEST, "Invalid page request"),
+    BATCH_TOO_LARGE(HttpStatus.PAYLOAD_TOO_LARGE, "Batch too large"),
+    CREATE_FAILED(HttpStatus.BAD_REQUEST, "Error creating/updating assistant"),
+    IMPORT_READ_FAILED(HttpStatus.BAD_REQUEST, "Error reading bulk import request"),
+    MESSAGE_FAILED(HttpStatus.BAD_REQUEST, "Error processing message"),
+    SERVICE_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "Service busy");
+    
+    private final HttpStatus status;
+    private final String error;
+    private final String detailsPrefix;
+    private final String detailsSuffix;
+    
+    // Pre-encoded UTF-8 JSON fragments
+    private final byte[] head;
+    private final byte[] detailsPrefixJson;
+    private final byte[] detailsSuffixJson;
+    
+    ErrorCode(HttpStatus status, String error) {
+        this(status, error, null, null);
+    }
+    
+    ErrorCode(HttpStatus status, String error, String detailsPrefix, String detailsSuffix) {
+        this.status = status;
+        this.error = error;
+        this.detailsPrefix = detailsPrefix;
+        this.detailsSuffix = detailsSuffix;
+        
+        StringBuilder json = new StringBuilder("{\"success\":false,\"error\":\"");
+        JsonText.appendEscaped(json, error);
+        json.append('"');
+        this.head = json.toString().getBytes(StandardCharsets.UTF_8);
+        this.detailsPrefixJson = escaped(detailsPrefix);
+        this.detailsSuffixJson = escaped(detailsSuffix);
+    }
+    
+    private static byte[] escaped(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder json = new StringBuilder(value.length() + 8);
+        JsonText.appendEscaped(json, value);
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+    
+    public HttpStatus getStatus() {
+        return status;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    /**
+     * Whether the details are built from a template around the assistant name
+     */
+    public boolean hasDetailsTemplate() {
+        return detailsPrefix != null;
+    }
+    
+    /**
+     * Details text for an assistant, from the template
+     */
+    public String details(String assistantName) {
+        return detailsPrefix + assistantName + detailsSuffix;
+    }
+    
+    /**
+     * {"success":false,"error":"..." - without the closing brace
+     */
+    public byte[] headJson() {
+        return head;
+    }
+    
+    public byte[] detailsPrefixJson() {
+        return detailsPrefixJson;
+    }
+    
+    public byte[] detailsSuffixJson() {
+        return detailsSuffixJson;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.digitalassistant.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Typed error body returned by every endpoint.
+ * I replaced the per-request HashMaps with this so error paths build one small
+ * object; the JSON converter writes it from the pre-encoded fragments of its
+ * {@link ErrorCode}, and Jackson can still serialize it anywhere else.
+ *
+ * JSON shape (unchanged from the old map bodies):
+ * {"success": false, "error": "...", "details": "...", "assistantName": "...",
+ *  "validationErrors": {...}, "timestamp": "2024-01-15T10:35:00"}
+ *
+ * Timestamps have second resolution and are formatted once per second.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"success", "error", "details", "assistantName", "validationErrors", "timestamp"})
+public final class ErrorResponse {
+
+    private final ErrorCode code;
+    private final String assistantName;
+    private final String details;
+    private final Map<String, String> validationErrors;
+    private final CachedTimestamp timestamp;
+    
+    private ErrorResponse(ErrorCode code, String assistantName, String details, Map<String, String> validationErrors) {
+        this.code = code;
+        this.assistantName = assistantName;
+        this.details = details;
+        this.validationErrors = validationErrors;
+        this.timestamp = CachedTimestamp.now();
+    }
+    
+    /**
+     * Error about one assistant; details come from the code's template
+     */
+    public static ErrorResponse forAssistant(ErrorCode code, String assistantName) {
+        return new ErrorResponse(code, assistantName, null, null);
+    }
+    
+    /**
+     * Error about one assistant with free-form details
+     */
+    public static ErrorResponse forAssistant(ErrorCode code, String assistantName, String details) {
+        return new ErrorResponse(code, assistantName, details, null);
+    }
+    
+    /**
+     * Error with free-form details (may be null)
+     */
+    public static ErrorResponse of(ErrorCode code, String details) {
+        return new ErrorResponse(code, null, details, null);
+    }
+    
+    /**
+     * Validation failure with one message per invalid field
+     */
+    public static ErrorResponse validation(Map<String, String> validationErrors) {
+        return new ErrorResponse(ErrorCode.VALIDATION_FAILED, null, null, validationErrors);
+    }
+    
+    @JsonIgnore
+    public ErrorCode getCode() {
+        return code;
+    }
+    
+    public boolean isSuccess() {
+        return false;
+    }
+    
+    public String getError() {
+        return code.getError();
+    }
+    
+    public String getDetails() {
+        if (details == null && assistantName != null && code.hasDetailsTemplate()) {
+            return code.details(assistantName);
+        }
+        return details;
+    }
+    
+    /**
+     * Free-form details only (null when the details come from the template)
+     */
+    @JsonIgnore
+    public String getRawDetails() {
+        return details;
+    }
+    
+    public String getAssistantName() {
+        return assistantName;
+    }
+    
+    public Map<String, String> getValidationErrors() {
+        return validationErrors;
+    }
+    
+    public String getTimestamp() {
+        return timestamp.text;
+    }
+    
+    /**
+     * UTF-8 bytes of the timestamp; don't modify the returned array
+     */
+    @JsonIgnore
+    public byte[] getTimestampBytes() {
+        return timestamp.bytes;
+    }
+    
+    @Override
+    public String toString() {
+        return "ErrorResponse{" +
+                "code=" + code +
+                ", assistantName='" + assistantName + '\'' +
+                ", details='" + getDetails() + '\'' +
+                ", timestamp=" + timestamp.text +
+                '}';
+    }
+    
+    /**
+     * Local date-time formatted like Jackson writes LocalDateTime, refreshed at most once per second
+     */
+    private static final class CachedTimestamp {
+    
+        private static final DateTimeFormatter FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+        private static volatile CachedTimestamp current = new CachedTimestamp(Long.MIN_VALUE);
+        
+        private final long epochSecond;
+        private final String text;
+        private final byte[] bytes;
+        
+        private CachedTimestamp(long epochSecond) {
+            this.epochSecond = epochSecond;
+            this.text = epochSecond == Long.MIN_VALUE ? ""
+                    : FORMAT.format(LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault()));
+            this.bytes = text.getBytes(StandardCharsets.US_ASCII);
+        }
+        
+        static CachedTimestamp now() {
+            long second = System.currentTimeMillis() / 1000;
+            CachedTimestamp cached = current;
+            if (cached.epochSecond != second) {
+                cached = new CachedTimestamp(second);
+                current = cached;
+            }
+            return cached;
+        }
+    }
+}
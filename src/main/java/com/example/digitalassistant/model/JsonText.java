@@ -0,0 +1,59 @@
+package com.example.digitalassistant.model;
+
+/**
+ * Minimal JSON string escaping for the pre-rendered response bodies.
+ * Escapes exactly what Jackson escapes by default: quotes, backslashes and
+ * control characters. Everything else, including non-ASCII text, is kept
+ * as-is and encoded as UTF-8 by the caller.
+ */
+public final class JsonText {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    
+    private JsonText() {
+    }
+    
+    /**
+     * Append a value as the contents of a JSON string (without the surrounding quotes)
+     *
+     * @param out Where to append
+     * @param value The raw value; null is written as an empty string
+     */
+    public static void appendEscaped(StringBuilder out, String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                case '\b':
+                    out.append("\\b");
+                    break;
+                case '\f':
+                    out.append("\\f");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+    }
+}
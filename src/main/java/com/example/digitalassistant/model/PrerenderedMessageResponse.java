@@ -0,0 +1,46 @@
+package com.example.digitalassistant.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Message response whose static part is already serialized.
+ * I added this so the message endpoint writes the assistant's pre-escaped
+ * bytes straight to the response instead of running Jackson on every call.
+ *
+ * It is still a {@link MessageResponse}: anything that isn't the JSON
+ * message converter (batch results, WebSocket frames, SSE) serializes it
+ * the usual way. Treat it as immutable; the setters don't update the bytes.
+ */
+public class PrerenderedMessageResponse extends MessageResponse {
+
+    // Same format Jackson uses for LocalDateTime with WRITE_DATES_AS_TIMESTAMPS disabled
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    
+    private final AssistantSnapshot assistant;
+    
+    public PrerenderedMessageResponse(AssistantSnapshot assistant, String originalMessage) {
+        super(assistant.getName(), assistant.getResponseText(), originalMessage);
+        this.assistant = assistant;
+    }
+    
+    /**
+     * Cached bytes of everything up to the originalMessage value
+     */
+    public byte[] staticPart() {
+        return assistant.getMessageResponsePrefix();
+    }
+    
+    /**
+     * Bytes of the per-request rest of the body: originalMessage, timestamp and the closing brace
+     */
+    public byte[] renderDynamicPart() {
+        String originalMessage = getOriginalMessage();
+        StringBuilder json = new StringBuilder(48 + (originalMessage == null ? 0 : originalMessage.length()));
+        JsonText.appendEscaped(json, originalMessage);
+        json.append("\",\"timestamp\":\"");
+        json.append(TIMESTAMP_FORMAT.format(getTimestamp()));
+        json.append("\"}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
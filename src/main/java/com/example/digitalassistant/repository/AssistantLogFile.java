@@ -0,0 +1,350 @@
+package com.example.digitalassistant.repository;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * On-disk format of the {@link LogAssistantStore}: checksummed assistant events.
+ *
+ * The same format is used for the append-only log and for snapshots:
+ *
+ * - Header: magic, format version, generation (16 bytes)
+ * - Records: payload length, CRC32 of the payload, payload
+ * - Payload: type, id, created/updated timestamps, name, response text
+ *
+ * A snapshot starts with a LAST_ID record holding the highest id handed out so
+ * far. The snapshot only has live assistants, so without it the id of a
+ * deleted newest assistant would be handed out again after a restart.
+ *
+ * The log is a fixed-size, memory-mapped file filled with zeros, so a zero
+ * length marks its end. Reading stops at the first record that is truncated or
+ * fails its checksum (a write torn by a crash); the rest of the file is ignored.
+ */
+final class AssistantLogFile implements Closeable {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+    static final byte LAST_ID = 3;
+    
+    private static final int MAGIC = 0x41534C47; // "ASLG"
+    // Version 2 added LAST_ID records; version 1 files are still read
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_HEADER_BYTES = 8;
+    
+    // type + id + 2 x (seconds + nanos) + 2 string lengths
+    private static final int FIXED_PAYLOAD_BYTES = 1 + 8 + 2 * (8 + 4) + 2 * 4;
+    
+    // Sanity limit when reading; anything larger is treated as corruption
+    private static final int MAX_PAYLOAD_BYTES = 1 << 20;
+    
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long generation;
+    private long events;
+    
+    private AssistantLogFile(Path path, FileChannel channel, MappedByteBuffer buffer, long generation) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.generation = generation;
+    }
+    
+    /**
+     * One create/update (PUT) or delete event
+     */
+    static final class Event {
+    
+        final byte type;
+        final long id;
+        final String name;
+        final String responseText;
+        final LocalDateTime createdAt;
+        final LocalDateTime updatedAt;
+        
+        Event(byte type, long id, String name, String responseText, LocalDateTime createdAt, LocalDateTime updatedAt) {
+            this.type = type;
+            this.id = id;
+            this.name = name;
+            this.responseText = responseText;
+            this.createdAt = createdAt;
+            this.updatedAt = updatedAt;
+        }
+        
+        static Event delete(long id, String name, LocalDateTime at) {
+            return new Event(DELETE, id, name, "", at, at);
+        }
+        
+        static Event lastId(long id) {
+            LocalDateTime epoch = LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC);
+            return new Event(LAST_ID, id, "", "", epoch, epoch);
+        }
+    }
+    
+    /**
+     * Open an existing log or create an empty one of the given size
+     *
+     * @param path The log file
+     * @param generation Generation written to the header of a new log
+     * @param capacity Size of the mapped file in bytes (existing logs keep their size)
+     */
+    static AssistantLogFile open(Path path, long generation, int capacity) throws IOException {
+        boolean exists = Files.exists(path) && Files.size(path) >= HEADER_BYTES;
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = exists ? channel.size() : capacity;
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (exists) {
+                generation = readHeader(buffer, path);
+            } else {
+                writeHeader(buffer, generation);
+            }
+            return new AssistantLogFile(path, channel, buffer, generation);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Read every intact event and position the log for appending after the last one
+     *
+     * A torn record at the end is zeroed so it can't be mistaken for data later.
+     *
+     * @param consumer Called once per event, in log order
+     * @return Number of events read
+     */
+    long replay(Consumer<Event> consumer) {
+        buffer.position(HEADER_BYTES);
+        events = readEvents(buffer, consumer);
+        
+        int end = buffer.position();
+        if (end + RECORD_HEADER_BYTES <= buffer.limit() && buffer.getInt(end) != 0) {
+            for (int i = end; i < buffer.limit(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+        return events;
+    }
+    
+    /**
+     * Append one event
+     *
+     * @return false (and nothing written) if the log has no room left for it
+     */
+    boolean append(Event event) {
+        byte[] name = event.name.getBytes(StandardCharsets.UTF_8);
+        byte[] text = event.responseText.getBytes(StandardCharsets.UTF_8);
+        int payload = FIXED_PAYLOAD_BYTES + name.length + text.length;
+        int start = buffer.position();
+        if (start + RECORD_HEADER_BYTES + payload > buffer.limit()) {
+            return false;
+        }
+        
+        // Payload first, then checksum and length, so a torn write never has a valid length
+        buffer.position(start + RECORD_HEADER_BYTES);
+        writePayload(buffer, event, name, text);
+        CRC32 crc = new CRC32();
+        ByteBuffer written = buffer.duplicate();
+        written.position(start + RECORD_HEADER_BYTES).limit(start + RECORD_HEADER_BYTES + payload);
+        crc.update(written);
+        buffer.putInt(start + 4, (int) crc.getValue());
+        buffer.putInt(start, payload);
+        events++;
+        return true;
+    }
+    
+    /**
+     * Flush appended events to the storage device
+     */
+    void force() {
+        buffer.force();
+    }
+    
+    long getGeneration() {
+        return generation;
+    }
+    
+    /**
+     * Events appended since the log was created
+     */
+    long getEvents() {
+        return events;
+    }
+    
+    /**
+     * Bytes in use, including the header
+     */
+    long getUsedBytes() {
+        return buffer.position();
+    }
+    
+    Path getPath() {
+        return path;
+    }
+    
+    /**
+     * Flush and close the log
+     *
+     * The mapping itself is released by the garbage collector (Java 8 has no
+     * supported way to unmap a buffer).
+     */
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+    
+    /**
+     * Write a snapshot file: a header, a LAST_ID record, then one PUT event per assistant
+     *
+     * @param path Destination file; it is replaced and forced to disk
+     * @param generation Generation of the log that continues after this snapshot
+     * @param lastId Highest id handed out so far
+     * @param events Writes the events to the consumer it is given
+     */
+    static void writeSnapshot(Path path, long generation, long lastId, Consumer<Consumer<Event>> events) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            writeHeader(header, generation);
+            out.write(header.array());
+            
+            ByteBuffer[] record = { ByteBuffer.allocate(4096) };
+            CRC32 crc = new CRC32();
+            try {
+                Consumer<Event> writer = event -> {
+                    byte[] name = event.name.getBytes(StandardCharsets.UTF_8);
+                    byte[] text = event.responseText.getBytes(StandardCharsets.UTF_8);
+                    int payload = FIXED_PAYLOAD_BYTES + name.length + text.length;
+                    if (record[0].capacity() < RECORD_HEADER_BYTES + payload) {
+                        record[0] = ByteBuffer.allocate(RECORD_HEADER_BYTES + payload);
+                    }
+                    ByteBuffer buffer = record[0];
+                    buffer.clear();
+                    buffer.position(RECORD_HEADER_BYTES);
+                    writePayload(buffer, event, name, text);
+                    crc.reset();
+                    crc.update(buffer.array(), RECORD_HEADER_BYTES, payload);
+                    buffer.putInt(0, payload);
+                    buffer.putInt(4, (int) crc.getValue());
+                    try {
+                        out.write(buffer.array(), 0, RECORD_HEADER_BYTES + payload);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                };
+                writer.accept(Event.lastId(lastId));
+                events.accept(writer);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+            channel.force(true);
+        }
+    }
+    
+    /**
+     * Read every intact event of a snapshot file
+     *
+     * @return The generation of the log that continues after the snapshot
+     */
+    static long readSnapshot(Path path, Consumer<Event> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            long generation = readHeader(buffer, path);
+            buffer.position(HEADER_BYTES);
+            readEvents(buffer, consumer);
+            return generation;
+        }
+    }
+    
+    private static long readEvents(ByteBuffer buffer, Consumer<Event> consumer) {
+        long count = 0;
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= RECORD_HEADER_BYTES) {
+            int start = buffer.position();
+            int payload = buffer.getInt(start);
+            if (payload < FIXED_PAYLOAD_BYTES || payload > MAX_PAYLOAD_BYTES
+                    || start + RECORD_HEADER_BYTES + payload > buffer.limit()) {
+                break; // end of data (zero length) or a torn record
+            }
+            
+            ByteBuffer record = buffer.duplicate();
+            record.position(start + RECORD_HEADER_BYTES).limit(start + RECORD_HEADER_BYTES + payload);
+            crc.reset();
+            crc.update(record.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(start + 4)) {
+                break;
+            }
+            
+            consumer.accept(readPayload(record));
+            buffer.position(start + RECORD_HEADER_BYTES + payload);
+            count++;
+        }
+        return count;
+    }
+    
+    private static void writePayload(ByteBuffer buffer, Event event, byte[] name, byte[] text) {
+        buffer.put(event.type);
+        buffer.putLong(event.id);
+        buffer.putLong(event.createdAt.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(event.createdAt.getNano());
+        buffer.putLong(event.updatedAt.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(event.updatedAt.getNano());
+        buffer.putInt(name.length);
+        buffer.put(name);
+        buffer.putInt(text.length);
+        buffer.put(text);
+    }
+    
+    private static Event readPayload(ByteBuffer record) {
+        byte type = record.get();
+        long id = record.getLong();
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(record.getLong(), record.getInt(), ZoneOffset.UTC);
+        LocalDateTime updatedAt = LocalDateTime.ofEpochSecond(record.getLong(), record.getInt(), ZoneOffset.UTC);
+        String name = readString(record);
+        String text = readString(record);
+        return new Event(type, id, name, text, createdAt, updatedAt);
+    }
+    
+    private static String readString(ByteBuffer record) {
+        byte[] bytes = new byte[record.getInt()];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    private static void writeHeader(ByteBuffer buffer, long generation) {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putLong(8, generation);
+    }
+    
+    private static long readHeader(ByteBuffer buffer, Path path) throws IOException {
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException(path + " is not an assistant log file");
+        }
+        if (buffer.getInt(4) < 1 || buffer.getInt(4) > VERSION) {
+            throw new IOException(path + " has unsupported format version " + buffer.getInt(4));
+        }
+        return buffer.getLong(8);
+    }
+}
@@ -1,12 +1,20 @@
 package com.example.digitalassistant.repository;
 
 import com.example.digitalassistant.model.Assistant;
+import com.example.digitalassistant.model.AssistantSnapshot;
+import com.example.digitalassistant.model.AssistantSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Assistant Repository Interface
@@ -24,55 +32,102 @@ import java.util.Optional;
  * - Type-safe database operations
  * - Custom query methods using method naming conventions
  * - Support for custom JPQL queries
+ * - Single-statement JDBC operations and natural-id lookups by name from {@link AssistantRepositoryCustom}
  * 
  * @author Digital Assistant Team
  */
 @Repository
-public interface AssistantRepository extends JpaRepository<Assistant, Long> {
-    
-    /**
-     * Find an assistant by their unique name
-     * 
-     * Spring Data JPA automatically implements this method based on the method name:
-     * - "findBy" indicates a query operation
-     * - "Name" refers to the 'name' field in the Assistant entity
-     * 
-     * @param name The unique name of the assistant to find
-     * @return Optional<Assistant> - contains the assistant if found, empty if not found
-     */
-    Optional<Assistant> findByName(String name);
-    
+public interface AssistantRepository extends JpaRepository<Assistant, Long>, AssistantRepositoryCustom {
+
     /**
-     * Check if an assistant exists with the given name
+     * Load the message-path view of several assistants in one query
      * 
-     * This is more efficient than findByName when you only need to check existence
-     * Spring Data JPA implements this as a COUNT query
+     * Used by the batch message endpoint to resolve every distinct name
+     * with a single IN query instead of one lookup per message.
      * 
-     * @param name The name to check for existence
-     * @return true if an assistant with this name exists, false otherwise
+     * @param names The assistant names to look up
+     * @return Snapshots of the assistants that exist (missing names are simply absent)
      */
-    boolean existsByName(String name);
+    @Query("SELECT new com.example.digitalassistant.model.AssistantSnapshot(a.name, a.responseText) " +
+           "FROM Assistant a WHERE a.name IN :names")
+    List<AssistantSnapshot> findSnapshotsByNameIn(@Param("names") Collection<String> names);
     
     /**
      * Find all assistants ordered by creation date (newest first)
      * 
      * Custom JPQL query to retrieve assistants in a specific order
      * This provides a better user experience by showing recent assistants first
+     * Cacheable: the result comes from the query cache and the entity region
+     * while no assistant has been written since.
      * 
      * @return List of all assistants ordered by creation date descending
      */
     @Query("SELECT a FROM Assistant a ORDER BY a.createdAt DESC")
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = Assistant.QUERY_CACHE_REGION)
+    })
     List<Assistant> findAllOrderByCreatedAtDesc();
     
+    /**
+     * First page of the keyset-paginated listing (newest first)
+     * 
+     * Returns read-only DTO projections, not managed entities. Only the page
+     * size of the Pageable is used; no count query is issued.
+     * 
+     * @param pageable Page request carrying the number of rows to fetch
+     * @return Up to pageable.getPageSize() assistant summaries
+     */
+    @Query("SELECT new com.example.digitalassistant.model.AssistantSummary(" +
+           "a.id, a.name, a.responseText, a.createdAt, a.updatedAt) " +
+           "FROM Assistant a ORDER BY a.createdAt DESC, a.id DESC")
+    List<AssistantSummary> findFirstPage(Pageable pageable);
+    
+    /**
+     * Next page of the keyset-paginated listing, strictly after (createdAt, id)
+     * 
+     * Seeks through the (created_at, id) index instead of skipping rows with
+     * OFFSET, so every page costs the same no matter how deep it is.
+     * 
+     * @param createdAt Creation time of the last assistant on the previous page
+     * @param id Id of the last assistant on the previous page
+     * @param pageable Page request carrying the number of rows to fetch
+     * @return Up to pageable.getPageSize() assistant summaries
+     */
+    @Query("SELECT new com.example.digitalassistant.model.AssistantSummary(" +
+           "a.id, a.name, a.responseText, a.createdAt, a.updatedAt) " +
+           "FROM Assistant a " +
+           "WHERE a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id) " +
+           "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AssistantSummary> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+    
+    /**
+     * Find the names of all assistants
+     * 
+     * Used to build the in-memory name filter on startup without loading
+     * full entities into the persistence context
+     * 
+     * @return List of every assistant name
+     */
+    @Query("SELECT a.name FROM Assistant a")
+    List<String> findAllNames();
+    
     /**
      * Delete an assistant by their name
      * 
-     * Spring Data JPA automatically implements this method
+     * A single bulk DELETE; the assistant isn't loaded first, and the row count
+     * tells the caller whether it existed. Hibernate evicts the Assistant cache
+     * regions after a bulk statement, so no stale entity survives it.
      * Note: This method should be used within a @Transactional context
      * 
      * @param name The name of the assistant to delete
+     * @return Number of assistants deleted (0 or 1)
      */
-    void deleteByName(String name);
+    @Modifying
+    @Query("DELETE FROM Assistant a WHERE a.name = :name")
+    int deleteByName(@Param("name") String name);
     
     /**
      * Count total number of assistants
@@ -0,0 +1,79 @@
+package com.example.digitalassistant.repository;
+
+import com.example.digitalassistant.model.Assistant;
+import com.example.digitalassistant.model.AssistantSummary;
+import com.example.digitalassistant.model.AssistantUpsertResult;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Custom repository operations that Spring Data can't derive from method names.
+ * I implemented these with plain JDBC in {@link AssistantRepositoryImpl} where a
+ * single SQL statement beats the load-modify-save round trips of JPA, and with
+ * Hibernate's natural-id API for the lookups by name.
+ */
+public interface AssistantRepositoryCustom {
+
+    /**
+     * Find an assistant by its unique name
+     * 
+     * Loads through the natural id (the name), so a repeated lookup is answered
+     * from the persistence context or the second-level cache without SQL.
+     * 
+     * @param name The unique name of the assistant to find
+     * @return The assistant, or empty if there is none with this name
+     */
+    Optional<Assistant> findByName(String name);
+    
+    /**
+     * Check if an assistant exists with the given name
+     * 
+     * Only resolves the name to an id (natural-id cache, else a single
+     * SELECT of the id); the assistant itself is not loaded.
+     * 
+     * @param name The name to check for existence
+     * @return true if an assistant with this name exists
+     */
+    boolean existsByName(String name);
+    
+    
+    /**
+     * Insert a new assistant or update the response text of an existing one
+     * 
+     * Runs as one MERGE statement keyed on the unique name, so it needs neither
+     * an existence check nor a prior load of the entity.
+     * 
+     * @param name The unique name of the assistant
+     * @param responseText The predefined response text
+     * @return The stored assistant and whether it was created or updated
+     */
+    AssistantUpsertResult upsert(String name, String responseText);
+    
+    /**
+     * Insert or update a chunk of assistants using JDBC batches
+     * 
+     * Existing names are found with a single IN query, then new assistants are
+     * written with one batched INSERT and existing ones with one batched UPDATE.
+     * Names must be unique within the chunk. Must run inside a transaction; a
+     * concurrent insert of the same name fails the whole chunk with a
+     * DataIntegrityViolationException.
+     * 
+     * @param assistants The assistants to store
+     * @return One result per input, in the same order
+     */
+    List<AssistantUpsertResult> upsertAll(List<Assistant> assistants);
+    
+    /**
+     * Stream every assistant, in id order, through a forward-only cursor
+     * 
+     * Rows are handed to the consumer one at a time as they are read, so
+     * memory use doesn't depend on the size of the table.
+     * 
+     * @param fetchSize JDBC fetch size hint for the cursor
+     * @param consumer Called once per assistant
+     * @return Number of assistants streamed
+     */
+    long streamAll(int fetchSize, Consumer<AssistantSummary> consumer);
+}
@@ -0,0 +1,206 @@
+package com.example.digitalassistant.repository;
+
+import com.example.digitalassistant.model.Assistant;
+import com.example.digitalassistant.model.AssistantSummary;
+import com.example.digitalassistant.model.AssistantUpsertResult;
+import org.hibernate.Session;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * JDBC implementation of {@link AssistantRepositoryCustom}.
+ * 
+ * Spring Data picks this class up by its "Impl" suffix and merges it into
+ * the {@link AssistantRepository} proxy. The JdbcTemplate joins whatever JPA
+ * transaction is active, so these statements commit together with it.
+ * 
+ * The name lookups go through Hibernate's Session instead, so they can use the
+ * natural-id and entity caches.
+ */
+public class AssistantRepositoryImpl implements AssistantRepositoryCustom {
+
+    /**
+     * H2 MERGE keyed on name, wrapped in FINAL TABLE so the same statement returns
+     * the stored row. The id parameter is freshly allocated and only written by
+     * the insert branch, so the row coming back with that id means it was
+     * created. (Comparing created_at with updated_at would misreport an update
+     * that lands in the same clock tick as the create.)
+     */
+    private static final String UPSERT_SQL =
+            "SELECT id, created_at, updated_at FROM FINAL TABLE (" +
+            " MERGE INTO assistants t" +
+            " USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(1000)), CAST(? AS TIMESTAMP)))" +
+            "   AS s(id, name, response_text, ts)" +
+            " ON t.name = s.name" +
+            " WHEN MATCHED THEN UPDATE SET response_text = s.response_text, updated_at = s.ts" +
+            " WHEN NOT MATCHED THEN INSERT (id, name, response_text, created_at, updated_at)" +
+            "   VALUES (s.id, s.name, s.response_text, s.ts, s.ts)" +
+            ")";
+    
+    private static final String FIND_EXISTING_SQL =
+            "SELECT id, name, created_at FROM assistants WHERE name IN (:names)";
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO assistants (id, name, response_text, created_at, updated_at) VALUES (?, ?, ?, ?, ?)";
+    
+    private static final String UPDATE_SQL =
+            "UPDATE assistants SET response_text = ?, updated_at = ? WHERE name = ?";
+    
+    private static final String STREAM_ALL_SQL =
+            "SELECT id, name, response_text, created_at, updated_at FROM assistants ORDER BY id";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final AssistantIdAllocator idAllocator;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public AssistantRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                   NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                   AssistantIdAllocator idAllocator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.idAllocator = idAllocator;
+    }
+    
+    /**
+     * Transactional so the Session is bound to a transaction even when the
+     * caller (e.g. a SUPPORTS service method) has none
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Assistant> findByName(String name) {
+        return session().bySimpleNaturalId(Assistant.class).loadOptional(name);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsByName(String name) {
+        return session().bySimpleNaturalId(Assistant.class).getReference(name) != null;
+    }
+    
+    @Override
+    public AssistantUpsertResult upsert(String name, String responseText) {
+        // Timestamps are stored with microsecond precision
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        
+        long newId = idAllocator.nextId();
+        return jdbcTemplate.queryForObject(UPSERT_SQL, (rs, rowNum) -> {
+            Assistant assistant = new Assistant(name, responseText);
+            assistant.setId(rs.getLong("id"));
+            assistant.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+            assistant.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+            return new AssistantUpsertResult(assistant, assistant.getId() == newId);
+        }, newId, name, responseText, Timestamp.valueOf(now));
+    }
+    
+    @Override
+    public List<AssistantUpsertResult> upsertAll(List<Assistant> assistants) {
+        List<AssistantUpsertResult> results = new ArrayList<>(assistants.size());
+        if (assistants.isEmpty()) {
+            return results;
+        }
+        
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Timestamp timestamp = Timestamp.valueOf(now);
+        
+        // One query tells us which names already exist
+        List<String> names = new ArrayList<>(assistants.size());
+        for (Assistant assistant : assistants) {
+            names.add(assistant.getName());
+        }
+        Map<String, Assistant> existing = new HashMap<>();
+        namedParameterJdbcTemplate.query(FIND_EXISTING_SQL, new MapSqlParameterSource("names", names), rs -> {
+            Assistant found = new Assistant();
+            found.setId(rs.getLong("id"));
+            found.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+            existing.put(rs.getString("name"), found);
+        });
+        
+        // Split into batched inserts and batched updates
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (Assistant assistant : assistants) {
+            Assistant stored = new Assistant(assistant.getName(), assistant.getResponseText());
+            Assistant current = existing.get(assistant.getName());
+            boolean created = current == null;
+            
+            if (created) {
+                stored.setId(idAllocator.nextId());
+                stored.setCreatedAt(now);
+                inserts.add(new Object[] {stored.getId(), stored.getName(), stored.getResponseText(), timestamp, timestamp});
+            } else {
+                stored.setId(current.getId());
+                stored.setCreatedAt(current.getCreatedAt());
+                updates.add(new Object[] {stored.getResponseText(), timestamp, stored.getName()});
+            }
+            stored.setUpdatedAt(now);
+            results.add(new AssistantUpsertResult(stored, created));
+        }
+        
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+        }
+        return results;
+    }
+    
+    @Override
+    public long streamAll(int fetchSize, Consumer<AssistantSummary> consumer) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            // H2 materializes query results unless lazy execution is on for the session
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LAZY_QUERY_EXECUTION TRUE");
+            }
+            
+            try (PreparedStatement statement = connection.prepareStatement(
+                    STREAM_ALL_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(fetchSize);
+                
+                long count = 0;
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        consumer.accept(new AssistantSummary(
+                                rs.getLong("id"),
+                                rs.getString("name"),
+                                rs.getString("response_text"),
+                                rs.getTimestamp("created_at").toLocalDateTime(),
+                                rs.getTimestamp("updated_at").toLocalDateTime()));
+                        count++;
+                    }
+                }
+                return count;
+            } finally {
+                // Pooled connections are reused; restore the session default
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET LAZY_QUERY_EXECUTION FALSE");
+                }
+            }
+        });
+    }
+    
+    private Session session() {
+        return entityManager.unwrap(Session.class);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.digitalassistant.repository;
+
+import com.example.digitalassistant.model.Assistant;
+import com.example.digitalassistant.model.AssistantSnapshot;
+import com.example.digitalassistant.model.AssistantSummary;
+import com.example.digitalassistant.model.AssistantUpsertResult;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Storage operations the service layer needs for assistants.
+ * I pulled these out of {@link AssistantRepository} so the storage engine can be
+ * chosen with app.assistant.store:
+ *
+ * - jpa (default): H2 through Hibernate and JDBC, see {@link JpaAssistantStore}
+ * - log: append-only event log with an in-memory index, see {@link LogAssistantStore}
+ *
+ * Assistants returned by a store are detached copies; changing them doesn't
+ * change what is stored.
+ */
+public interface AssistantStore {
+
+    /**
+     * Insert a new assistant or update the response text of an existing one
+     *
+     * @param name The unique name of the assistant
+     * @param responseText The predefined response text
+     * @return The stored assistant and whether it was created or updated
+     */
+    AssistantUpsertResult upsert(String name, String responseText);
+    
+    /**
+     * Insert or update a chunk of assistants in one write
+     *
+     * Names must be unique within the chunk.
+     *
+     * @param assistants The assistants to store
+     * @return One result per input, in the same order
+     */
+    List<AssistantUpsertResult> upsertAll(List<Assistant> assistants);
+    
+    /**
+     * Find an assistant by its unique name
+     *
+     * @param name The name of the assistant
+     * @return The assistant, or empty if there is none with this name
+     */
+    Optional<Assistant> findByName(String name);
+    
+    /**
+     * Load the message-path view of several assistants at once
+     *
+     * @param names The assistant names to look up
+     * @return Snapshots of the assistants that exist (missing names are simply absent)
+     */
+    List<AssistantSnapshot> findSnapshotsByNameIn(Collection<String> names);
+    
+    /**
+     * Check if an assistant exists with the given name
+     *
+     * @param name The name to check
+     * @return true if an assistant with this name exists
+     */
+    boolean existsByName(String name);
+    
+    /**
+     * Every assistant, newest first
+     *
+     * @return List of all assistants ordered by creation date descending
+     */
+    List<Assistant> findAllOrderByCreatedAtDesc();
+    
+    /**
+     * First page of the keyset-paginated listing (newest first)
+     *
+     * @param limit Maximum number of summaries to return
+     * @return Up to limit assistant summaries
+     */
+    List<AssistantSummary> findFirstPage(int limit);
+    
+    /**
+     * Next page of the keyset-paginated listing, strictly after (createdAt, id)
+     *
+     * @param createdAt Creation time of the last assistant on the previous page
+     * @param id Id of the last assistant on the previous page
+     * @param limit Maximum number of summaries to return
+     * @return Up to limit assistant summaries
+     */
+    List<AssistantSummary> findPageAfter(LocalDateTime createdAt, Long id, int limit);
+    
+    /**
+     * Names of all assistants, used to build the name filter on startup
+     *
+     * @return List of every assistant name
+     */
+    List<String> findAllNames();
+    
+    /**
+     * Delete an assistant by its name
+     *
+     * One write, no prior existence check: callers tell a missing assistant
+     * from the returned count.
+     *
+     * @param name The name of the assistant to delete
+     * @return Number of assistants deleted (0 or 1)
+     */
+    long deleteByName(String name);
+    
+    /**
+     * Total number of assistants
+     *
+     * @return The number of stored assistants
+     */
+    long count();
+    
+    /**
+     * Stream every assistant to the consumer without materializing them all
+     *
+     * @param fetchSize Rows read per batch where the store reads in batches
+     * @param consumer Called once per assistant
+     * @return Number of assistants streamed
+     */
+    long streamAll(int fetchSize, Consumer<AssistantSummary> consumer);
+}
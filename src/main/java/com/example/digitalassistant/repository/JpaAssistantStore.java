@@ -0,0 +1,139 @@
+package com.example.digitalassistant.repository;
+
+import com.example.digitalassistant.model.Assistant;
+import com.example.digitalassistant.model.AssistantSnapshot;
+import com.example.digitalassistant.model.AssistantSummary;
+import com.example.digitalassistant.model.AssistantUpsertResult;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Default {@link AssistantStore}: the assistants table, through {@link AssistantRepository}.
+ * Runs inside the service's transactions like the repository always has.
+ *
+ * The upserts are plain JDBC, which Hibernate's second-level cache doesn't
+ * see, so they evict the written entities and the assistant query region
+ * themselves: right away and again when the transaction completes, so a
+ * reader that cached the old row in between can't keep it.
+ */
+@Component
+@ConditionalOnProperty(name = "app.assistant.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaAssistantStore implements AssistantStore {
+
+    private final AssistantRepository assistantRepository;
+    private final Cache secondLevelCache;
+    
+    public JpaAssistantStore(AssistantRepository assistantRepository, EntityManagerFactory entityManagerFactory) {
+        this.assistantRepository = assistantRepository;
+        this.secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+    
+    @Override
+    public AssistantUpsertResult upsert(String name, String responseText) {
+        AssistantUpsertResult result = assistantRepository.upsert(name, responseText);
+        evictAfterNativeWrite(Collections.singletonList(result));
+        return result;
+    }
+    
+    @Override
+    public List<AssistantUpsertResult> upsertAll(List<Assistant> assistants) {
+        List<AssistantUpsertResult> results = assistantRepository.upsertAll(assistants);
+        evictAfterNativeWrite(results);
+        return results;
+    }
+    
+    @Override
+    public Optional<Assistant> findByName(String name) {
+        return assistantRepository.findByName(name);
+    }
+    
+    @Override
+    public List<AssistantSnapshot> findSnapshotsByNameIn(Collection<String> names) {
+        return assistantRepository.findSnapshotsByNameIn(names);
+    }
+    
+    @Override
+    public boolean existsByName(String name) {
+        return assistantRepository.existsByName(name);
+    }
+    
+    @Override
+    public List<Assistant> findAllOrderByCreatedAtDesc() {
+        return assistantRepository.findAllOrderByCreatedAtDesc();
+    }
+    
+    @Override
+    public List<AssistantSummary> findFirstPage(int limit) {
+        return assistantRepository.findFirstPage(PageRequest.of(0, limit));
+    }
+    
+    @Override
+    public List<AssistantSummary> findPageAfter(LocalDateTime createdAt, Long id, int limit) {
+        return assistantRepository.findPageAfter(createdAt, id, PageRequest.of(0, limit));
+    }
+    
+    @Override
+    public List<String> findAllNames() {
+        return assistantRepository.findAllNames();
+    }
+    
+    @Override
+    public long deleteByName(String name) {
+        return assistantRepository.deleteByName(name);
+    }
+    
+    @Override
+    public long count() {
+        return assistantRepository.count();
+    }
+    
+    @Override
+    public long streamAll(int fetchSize, Consumer<AssistantSummary> consumer) {
+        return assistantRepository.streamAll(fetchSize, consumer);
+    }
+    
+    /**
+     * Drop second-level cache entries made stale by a JDBC upsert
+     * 
+     * Every written id is evicted, created or not: evicting an id that isn't
+     * cached costs nothing, and it doesn't depend on the create/update report
+     * being right. Names never change, so the natural-id region stays valid.
+     */
+    private void evictAfterNativeWrite(List<AssistantUpsertResult> results) {
+        List<Long> writtenIds = new ArrayList<>(results.size());
+        for (AssistantUpsertResult result : results) {
+            writtenIds.add(result.getAssistant().getId());
+        }
+        
+        evict(writtenIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(writtenIds);
+                }
+            });
+        }
+    }
+    
+    private void evict(List<Long> writtenIds) {
+        for (Long id : writtenIds) {
+            secondLevelCache.evictEntityData(Assistant.class, id);
+        }
+        secondLevelCache.evictQueryRegion(Assistant.QUERY_CACHE_REGION);
+    }
+}
@@ -0,0 +1,481 @@
+package com.example.digitalassistant.repository;
+
+import com.example.digitalassistant.model.Assistant;
+import com.example.digitalassistant.model.AssistantSnapshot;
+import com.example.digitalassistant.model.AssistantSummary;
+import com.example.digitalassistant.model.AssistantUpsertResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * {@link AssistantStore} backed by an append-only event log instead of H2.
+ * I wrote this for deployments that only need the name → response mapping:
+ * a write is one append to a memory-mapped file and reads never leave memory.
+ *
+ * How it works:
+ * 1. Creates, updates and deletes are appended to the log as checksummed events
+ * 2. Reads are served from an in-memory hash index (plus a creation-order index for paging)
+ * 3. On startup the index is rebuilt from the latest snapshot and the log written after it
+ * 4. Periodically, or when the log is full, the index is written to a new snapshot
+ *    and the log starts over empty (compaction)
+ *
+ * Writes are serialized by one lock and aren't part of the surrounding JPA
+ * transaction, so a rollback doesn't undo them. Without app.assistant.store.log.sync
+ * an append survives a process crash (it is in the page cache) but not a power loss.
+ */
+@Component
+@ConditionalOnProperty(name = "app.assistant.store", havingValue = "log")
+public class LogAssistantStore implements AssistantStore {
+
+    private static final Logger log = LoggerFactory.getLogger(LogAssistantStore.class);
+    
+    private static final String SNAPSHOT_FILE = "assistants.snapshot";
+    private static final String SNAPSHOT_TEMP_FILE = "assistants.snapshot.tmp";
+    private static final String LOG_PREFIX = "assistants-";
+    private static final String LOG_SUFFIX = ".log";
+    
+    // Newest first, like the JPA listing
+    private static final Comparator<Position> NEWEST_FIRST = Comparator
+            .comparing((Position position) -> position.createdAt)
+            .thenComparingLong(position -> position.id)
+            .reversed();
+    
+    private final Path directory;
+    private final int logBytes;
+    private final boolean sync;
+    private final long snapshotIntervalSeconds;
+    private final long snapshotMinEvents;
+    
+    private final Map<String, Entry> byName = new ConcurrentHashMap<>();
+    private final NavigableMap<Position, String> byCreation = new ConcurrentSkipListMap<>(NEWEST_FIRST);
+    private final AtomicLong lastId = new AtomicLong();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    
+    private AssistantLogFile eventLog;
+    private ScheduledExecutorService snapshotScheduler;
+    
+    public LogAssistantStore(
+            @Value("${app.assistant.store.log.dir:./data/assistant-log}") String directory,
+            @Value("${app.assistant.store.log.segment-bytes:67108864}") int logBytes,
+            @Value("${app.assistant.store.log.sync:false}") boolean sync,
+            @Value("${app.assistant.store.log.snapshot-interval-seconds:300}") long snapshotIntervalSeconds,
+            @Value("${app.assistant.store.log.snapshot-min-events:10000}") long snapshotMinEvents) {
+        this.directory = Paths.get(directory);
+        this.logBytes = Math.max(1 << 20, logBytes);
+        this.sync = sync;
+        this.snapshotIntervalSeconds = snapshotIntervalSeconds;
+        this.snapshotMinEvents = snapshotMinEvents;
+    }
+    
+    /**
+     * Rebuild the index from the snapshot and the log, then start the snapshot schedule
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        long started = System.nanoTime();
+        Files.createDirectories(directory);
+        
+        long generation = 0;
+        long snapshotEvents = 0;
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshot)) {
+            long[] count = new long[1];
+            generation = AssistantLogFile.readSnapshot(snapshot, event -> {
+                apply(event);
+                if (event.type != AssistantLogFile.LAST_ID) {
+                    count[0]++;
+                }
+            });
+            snapshotEvents = count[0];
+        }
+        
+        eventLog = AssistantLogFile.open(logPath(generation), generation, logBytes);
+        long logEvents = eventLog.replay(this::apply);
+        deleteStaleFiles(generation);
+        
+        log.info("Assistant log store opened in {} ms: {} assistants ({} snapshot + {} log events, generation {})",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), byName.size(),
+                snapshotEvents, logEvents, generation);
+        
+        if (snapshotIntervalSeconds > 0) {
+            snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "assistant-log-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshotScheduler.scheduleWithFixedDelay(this::scheduledSnapshot,
+                    snapshotIntervalSeconds, snapshotIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+    
+    @PreDestroy
+    public void close() throws IOException {
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdownNow();
+        }
+        writeLock.lock();
+        try {
+            eventLog.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    @Override
+    public AssistantUpsertResult upsert(String name, String responseText) {
+        writeLock.lock();
+        try {
+            AssistantUpsertResult result = put(name, responseText, LocalDateTime.now());
+            if (sync) {
+                eventLog.force();
+            }
+            return result;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    @Override
+    public List<AssistantUpsertResult> upsertAll(List<Assistant> assistants) {
+        List<AssistantUpsertResult> results = new ArrayList<>(assistants.size());
+        writeLock.lock();
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (Assistant assistant : assistants) {
+                results.add(put(assistant.getName(), assistant.getResponseText(), now));
+            }
+            if (sync) {
+                eventLog.force();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return results;
+    }
+    
+    @Override
+    public Optional<Assistant> findByName(String name) {
+        Entry entry = byName.get(name);
+        return entry == null ? Optional.empty() : Optional.of(entry.toAssistant());
+    }
+    
+    @Override
+    public List<AssistantSnapshot> findSnapshotsByNameIn(Collection<String> names) {
+        List<AssistantSnapshot> snapshots = new ArrayList<>(names.size());
+        for (String name : names) {
+            Entry entry = byName.get(name);
+            if (entry != null) {
+                snapshots.add(new AssistantSnapshot(entry.name, entry.responseText));
+            }
+        }
+        return snapshots;
+    }
+    
+    @Override
+    public boolean existsByName(String name) {
+        return byName.containsKey(name);
+    }
+    
+    @Override
+    public List<Assistant> findAllOrderByCreatedAtDesc() {
+        List<Assistant> assistants = new ArrayList<>(byName.size());
+        for (String name : byCreation.values()) {
+            Entry entry = byName.get(name);
+            if (entry != null) {
+                assistants.add(entry.toAssistant());
+            }
+        }
+        return assistants;
+    }
+    
+    @Override
+    public List<AssistantSummary> findFirstPage(int limit) {
+        return page(byCreation, limit);
+    }
+    
+    @Override
+    public List<AssistantSummary> findPageAfter(LocalDateTime createdAt, Long id, int limit) {
+        return page(byCreation.tailMap(new Position(createdAt, id), false), limit);
+    }
+    
+    @Override
+    public List<String> findAllNames() {
+        return new ArrayList<>(byName.keySet());
+    }
+    
+    @Override
+    public long deleteByName(String name) {
+        writeLock.lock();
+        try {
+            Entry entry = byName.get(name);
+            if (entry == null) {
+                return 0;
+            }
+            append(AssistantLogFile.Event.delete(entry.id, name, LocalDateTime.now()));
+            byName.remove(name);
+            byCreation.remove(new Position(entry.createdAt, entry.id));
+            if (sync) {
+                eventLog.force();
+            }
+            return 1;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    @Override
+    public long count() {
+        return byName.size();
+    }
+    
+    /**
+     * Streams in creation order, oldest first; ids are handed out in the same order
+     */
+    @Override
+    public long streamAll(int fetchSize, Consumer<AssistantSummary> consumer) {
+        long count = 0;
+        for (String name : byCreation.descendingMap().values()) {
+            Entry entry = byName.get(name);
+            if (entry != null) {
+                consumer.accept(entry.toSummary());
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Write a snapshot and start a new, empty log
+     *
+     * Blocks writers while the snapshot is written; readers are not affected.
+     */
+    public void snapshot() throws IOException {
+        writeLock.lock();
+        try {
+            compact();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    private void scheduledSnapshot() {
+        if (eventLog.getEvents() < snapshotMinEvents) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Assistant log snapshot failed; the log keeps growing until the next attempt", e);
+        }
+    }
+    
+    /**
+     * Write the index to a snapshot for the next generation, then switch logs
+     *
+     * Crash safety: the snapshot only replaces the old one (atomic rename) once
+     * it and the new log are complete, and the old log is deleted last. Startup
+     * always reads the snapshot plus the log of the snapshot's generation. The
+     * snapshot records the highest id handed out, so ids of deleted assistants
+     * are never reused.
+     */
+    private void compact() throws IOException {
+        long started = System.nanoTime();
+        long generation = eventLog.getGeneration() + 1;
+        
+        Path temp = directory.resolve(SNAPSHOT_TEMP_FILE);
+        AssistantLogFile.writeSnapshot(temp, generation, lastId.get(), events -> {
+            for (Entry entry : byName.values()) {
+                events.accept(entry.toEvent());
+            }
+        });
+        
+        AssistantLogFile nextLog = AssistantLogFile.open(logPath(generation), generation, logBytes);
+        try {
+            nextLog.replay(event -> { });
+            Files.move(temp, directory.resolve(SNAPSHOT_FILE),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            nextLog.close();
+            Files.deleteIfExists(nextLog.getPath());
+            throw e;
+        }
+        
+        AssistantLogFile previousLog = eventLog;
+        eventLog = nextLog;
+        previousLog.close();
+        Files.deleteIfExists(previousLog.getPath());
+        
+        log.debug("Assistant log compacted to generation {} with {} assistants in {} ms",
+                generation, byName.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+    
+    /**
+     * Create or update one assistant; the caller holds the write lock
+     */
+    private AssistantUpsertResult put(String name, String responseText, LocalDateTime now) {
+        Entry existing = byName.get(name);
+        Entry entry = existing == null
+                ? new Entry(lastId.incrementAndGet(), name, responseText, now, now)
+                : new Entry(existing.id, name, responseText, existing.createdAt, now);
+        
+        append(entry.toEvent());
+        byName.put(name, entry);
+        if (existing == null) {
+            byCreation.put(new Position(entry.createdAt, entry.id), name);
+        }
+        return new AssistantUpsertResult(entry.toAssistant(), existing == null);
+    }
+    
+    /**
+     * Append an event, compacting first if the log is full; the caller holds the write lock
+     */
+    private void append(AssistantLogFile.Event event) {
+        try {
+            if (!eventLog.append(event)) {
+                compact();
+                if (!eventLog.append(event)) {
+                    throw new IllegalStateException("Assistant '" + event.name + "' doesn't fit in an empty log");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write to the assistant log in " + directory, e);
+        }
+    }
+    
+    /**
+     * Apply a snapshot or log event to the index while opening the store
+     */
+    private void apply(AssistantLogFile.Event event) {
+        if (event.id > lastId.get()) {
+            lastId.set(event.id);
+        }
+        if (event.type == AssistantLogFile.LAST_ID) {
+            return;
+        }
+        
+        Entry previous = byName.get(event.name);
+        if (previous != null) {
+            byCreation.remove(new Position(previous.createdAt, previous.id));
+        }
+        if (event.type == AssistantLogFile.DELETE) {
+            byName.remove(event.name);
+        } else {
+            Entry entry = new Entry(event.id, event.name, event.responseText, event.createdAt, event.updatedAt);
+            byName.put(event.name, entry);
+            byCreation.put(new Position(entry.createdAt, entry.id), entry.name);
+        }
+    }
+    
+    private List<AssistantSummary> page(Map<Position, String> positions, int limit) {
+        List<AssistantSummary> summaries = new ArrayList<>(Math.min(limit, 1024));
+        for (String name : positions.values()) {
+            if (summaries.size() >= limit) {
+                break;
+            }
+            Entry entry = byName.get(name);
+            if (entry != null) {
+                summaries.add(entry.toSummary());
+            }
+        }
+        return summaries;
+    }
+    
+    private Path logPath(long generation) {
+        return directory.resolve(LOG_PREFIX + generation + LOG_SUFFIX);
+    }
+    
+    /**
+     * Remove logs of other generations and unfinished snapshots left by a crash
+     */
+    private void deleteStaleFiles(long generation) throws IOException {
+        Files.deleteIfExists(directory.resolve(SNAPSHOT_TEMP_FILE));
+        Path current = logPath(generation);
+        try (DirectoryStream<Path> logs = Files.newDirectoryStream(directory, LOG_PREFIX + "*" + LOG_SUFFIX)) {
+            for (Path file : logs) {
+                if (!file.equals(current)) {
+                    log.debug("Deleting stale assistant log {}", file);
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Stored state of one assistant; replaced, never modified
+     */
+    private static final class Entry {
+    
+        final long id;
+        final String name;
+        final String responseText;
+        final LocalDateTime createdAt;
+        final LocalDateTime updatedAt;
+        
+        Entry(long id, String name, String responseText, LocalDateTime createdAt, LocalDateTime updatedAt) {
+            this.id = id;
+            this.name = name;
+            this.responseText = responseText;
+            this.createdAt = createdAt;
+            this.updatedAt = updatedAt;
+        }
+        
+        AssistantLogFile.Event toEvent() {
+            return new AssistantLogFile.Event(AssistantLogFile.PUT, id, name, responseText, createdAt, updatedAt);
+        }
+        
+        AssistantSummary toSummary() {
+            return new AssistantSummary(id, name, responseText, createdAt, updatedAt);
+        }
+        
+        Assistant toAssistant() {
+            Assistant assistant = new Assistant(name, responseText);
+            assistant.setId(id);
+            assistant.setCreatedAt(createdAt);
+            assistant.setUpdatedAt(updatedAt);
+            return assistant;
+        }
+    }
+    
+    /**
+     * Key of the creation-order index
+     */
+    private static final class Position {
+    
+        final LocalDateTime createdAt;
+        final long id;
+        
+        Position(LocalDateTime createdAt, long id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+    }
+}
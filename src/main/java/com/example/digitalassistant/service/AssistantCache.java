@@ -0,0 +1,171 @@
+package com.example.digitalassistant.service;
+
+import com.example.digitalassistant.model.AssistantSnapshot;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, concurrent cache of assistants keyed by name.
+ * I added this so the message path (the bulk of our traffic) can be served
+ * without opening a transaction or touching JPA on every request.
+ *
+ * Entries are evicted by size and by time since they were written, and are
+ * invalidated whenever an assistant is created, updated or deleted.
+ * Names confirmed missing are remembered in a separate, short-lived
+ * negative-lookup cache so repeated typos don't hit the database.
+ * Both caches publish hit, miss and eviction counters as Micrometer "cache.*"
+ * meters (cache=assistants and cache=assistants-missing).
+ */
+@Component
+public class AssistantCache {
+
+    private final Cache<String, AssistantSnapshot> cache;
+    private final Cache<String, Boolean> missingNames;
+    
+    // Bumped on every write so loads that raced with a write are not cached
+    private final AtomicLong generation = new AtomicLong();
+    
+    public AssistantCache(
+            @Value("${app.assistant.cache.max-size:10000}") long maxSize,
+            @Value("${app.assistant.cache.ttl-seconds:600}") long ttlSeconds,
+            @Value("${app.assistant.cache.negative-max-size:10000}") long negativeMaxSize,
+            @Value("${app.assistant.cache.negative-ttl-seconds:30}") long negativeTtlSeconds,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        this.missingNames = Caffeine.newBuilder()
+                .maximumSize(negativeMaxSize)
+                .expireAfterWrite(negativeTtlSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "assistants");
+        CaffeineCacheMetrics.monitor(meterRegistry, missingNames, "assistants-missing");
+    }
+    
+    /**
+     * Look up a cached assistant
+     *
+     * @param name The assistant name
+     * @return The cached snapshot, or null on a cache miss
+     */
+    public AssistantSnapshot get(String name) {
+        return cache.getIfPresent(name);
+    }
+    
+    /**
+     * Check whether a name was recently confirmed not to exist
+     *
+     * @param name The assistant name
+     * @return true if a recent lookup found no assistant with this name
+     */
+    public boolean isKnownMissing(String name) {
+        return missingNames.getIfPresent(name) != null;
+    }
+    
+    /**
+     * Current write generation; capture this before loading from the database
+     *
+     * @return The generation to pass to {@link #put} or {@link #markMissing}
+     */
+    public long generation() {
+        return generation.get();
+    }
+    
+    /**
+     * Store a freshly loaded assistant unless a write happened while it was loading
+     *
+     * @param snapshot The snapshot to cache under its name
+     * @param loadGeneration The generation captured before the load started
+     */
+    public void put(AssistantSnapshot snapshot, long loadGeneration) {
+        cache.put(snapshot.getName(), snapshot);
+        if (generation.get() != loadGeneration) {
+            cache.invalidate(snapshot.getName());
+        }
+    }
+    
+    /**
+     * Remember that a name doesn't exist unless a write happened while it was loading
+     *
+     * @param name The name that wasn't found
+     * @param loadGeneration The generation captured before the load started
+     */
+    public void markMissing(String name, long loadGeneration) {
+        missingNames.put(name, Boolean.TRUE);
+        if (generation.get() != loadGeneration) {
+            missingNames.invalidate(name);
+        }
+    }
+    
+    /**
+     * Drop the cached entries for an assistant that is being written
+     *
+     * The entries are dropped immediately and, when called inside a transaction,
+     * once more after completion so a reader that reloaded the old row while the
+     * write was in flight cannot leave a stale value behind.
+     *
+     * @param name The name of the assistant being created, updated or deleted
+     */
+    public void evict(String name) {
+        invalidate(name);
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(name);
+                }
+            });
+        }
+    }
+    
+    private void invalidate(String name) {
+        generation.incrementAndGet();
+        cache.invalidate(name);
+        missingNames.invalidate(name);
+    }
+    
+    /**
+     * Drop every cached entry
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+        missingNames.invalidateAll();
+    }
+    
+    /**
+     * Hit/miss statistics for monitoring
+     *
+     * @return Map with hit, miss and eviction counts plus the current size
+     */
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("size", cache.estimatedSize());
+        result.put("negativeHits", missingNames.stats().hitCount());
+        result.put("negativeSize", missingNames.estimatedSize());
+        return result;
+    }
+}
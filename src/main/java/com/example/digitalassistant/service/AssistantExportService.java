@@ -0,0 +1,78 @@
+package com.example.digitalassistant.service;
+
+import com.example.digitalassistant.model.AssistantSummary;
+import com.example.digitalassistant.repository.AssistantStore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Streaming export of the whole assistants table as NDJSON.
+ * I implemented this for backups and analytics: rows are read through a
+ * forward-only JDBC cursor (or straight from the log store's index) and
+ * written to the output as they arrive, so memory stays constant no matter
+ * how many assistants there are.
+ */
+@Service
+public class AssistantExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(AssistantExportService.class);
+    
+    @Autowired
+    private AssistantStore assistantStore;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    // Rows fetched per round trip from the database cursor
+    @Value("${app.assistant.export.fetch-size:1000}")
+    private int fetchSize;
+    
+    /**
+     * Write every assistant to the stream, one JSON object per line
+     *
+     * The stream is flushed at the end but not closed. Output is buffered by
+     * Jackson and only flushed when its buffer fills, not after every row.
+     *
+     * @param out Destination stream, typically the HTTP response body
+     * @return Number of assistants written
+     * @throws IOException if writing to the stream fails
+     */
+    public long exportAssistants(OutputStream out) throws IOException {
+        long count;
+        try (SequenceWriter writer = objectMapper.writerFor(AssistantSummary.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            try {
+                count = assistantStore.streamAll(fetchSize, assistant -> {
+                    try {
+                        writer.write(assistant);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        
+        if (count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        log.debug("Exported {} assistants", count);
+        return count;
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.digitalassistant.service;
+
+import com.example.digitalassistant.model.Assistant;
+import com.example.digitalassistant.model.AssistantImportResult;
+import com.example.digitalassistant.model.AssistantImportSummary;
+import com.example.digitalassistant.model.AssistantUpsertResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk import of assistants from a JSON array or an NDJSON stream.
+ * I implemented this so large catalogues can be provisioned in one request
+ * instead of one POST per assistant.
+ *
+ * Processing:
+ * 1. Records are read one at a time from the request stream (never the whole body)
+ * 2. Each record is validated with the same constraints as POST /api/assistants
+ * 3. Valid records are written in chunks, split into groups by write lock
+ *    (one transaction and one JDBC batch per group)
+ * 4. Every record gets a result, in request order
+ */
+@Service
+public class AssistantImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(AssistantImportService.class);
+    
+    @Autowired
+    private AssistantService assistantService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private Validator validator;
+    
+    // Groups each chunk's names by write-lock stripe
+    @Autowired
+    private AssistantWriteLocks writeLocks;
+    
+    // Number of records written per transaction / JDBC batch
+    @Value("${app.assistant.bulk.chunk-size:500}")
+    private int chunkSize;
+    
+    // Write locks one chunk transaction may hold; a chunk is written in groups of this many stripes
+    @Value("${app.assistant.write-locks.bulk-stripes:8}")
+    private int bulkLockStripes;
+    
+    // Upper bound on records accepted in a single import request
+    @Value("${app.assistant.bulk.max-items:100000}")
+    private int maxItems;
+    
+    /**
+     * Import every assistant record in the stream
+     *
+     * Reading stops at the first malformed JSON record, since the rest of the
+     * stream can't be parsed reliably; records before it are still stored.
+     *
+     * @param body JSON array or newline-delimited JSON objects
+     * @return Totals and one result per record
+     * @throws IOException if the request body can't be read
+     */
+    public AssistantImportSummary importAssistants(InputStream body) throws IOException {
+        AssistantImportSummary summary = new AssistantImportSummary();
+        Chunk chunk = new Chunk(chunkSize);
+        int index = 0;
+        
+        try (MappingIterator<Assistant> records = objectMapper.readerFor(Assistant.class).readValues(body)) {
+            while (true) {
+                Assistant assistant;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    assistant = records.nextValue();
+                } catch (JsonProcessingException e) {
+                    flush(chunk, summary);
+                    summary.add(AssistantImportResult.failed(index, null, "Malformed JSON: " + e.getOriginalMessage()));
+                    break;
+                }
+                
+                if (index >= maxItems) {
+                    flush(chunk, summary);
+                    summary.add(AssistantImportResult.failed(index, null,
+                            "Import is limited to " + maxItems + " records per request"));
+                    break;
+                }
+                
+                String error = validate(assistant);
+                if (error != null) {
+                    summary.add(AssistantImportResult.invalid(index, assistant == null ? null : assistant.getName(), error));
+                } else {
+                    // Keep names unique within a chunk so later records win, as with sequential POSTs
+                    if (chunk.isFull() || chunk.containsName(assistant.getName())) {
+                        flush(chunk, summary);
+                    }
+                    chunk.add(index, assistant);
+                }
+                index++;
+            }
+        }
+        
+        flush(chunk, summary);
+        log.debug("Bulk import finished: {}", summary);
+        return summary;
+    }
+    
+    /**
+     * Validate a record with the entity's bean validation constraints
+     *
+     * @return Validation messages, or null if the record is valid
+     */
+    private String validate(Assistant assistant) {
+        if (assistant == null) {
+            return "Record must be a JSON object";
+        }
+        
+        Set<ConstraintViolation<Assistant>> violations = validator.validate(assistant);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        
+        StringBuilder errors = new StringBuilder();
+        for (ConstraintViolation<Assistant> violation : violations) {
+            if (errors.length() > 0) {
+                errors.append("; ");
+            }
+            errors.append(violation.getMessage());
+        }
+        return errors.toString();
+    }
+    
+    /**
+     * Write the buffered records and record their results
+     *
+     * The chunk is written in groups whose names need at most
+     * app.assistant.write-locks.bulk-stripes write locks, one transaction per
+     * group. Locking the whole chunk would take nearly every stripe and stall
+     * all other writers until it committed.
+     */
+    private void flush(Chunk chunk, AssistantImportSummary summary) {
+        if (chunk.assistants.isEmpty()) {
+            return;
+        }
+        
+        List<String> names = new ArrayList<>(chunk.assistants.size());
+        for (Assistant assistant : chunk.assistants) {
+            names.add(assistant.getName());
+        }
+        
+        AssistantImportResult[] results = new AssistantImportResult[chunk.assistants.size()];
+        for (List<Integer> group : writeLocks.groupByStripes(names, bulkLockStripes)) {
+            write(chunk, group, results);
+        }
+        for (AssistantImportResult result : results) {
+            summary.add(result);
+        }
+        
+        chunk.clear();
+    }
+    
+    /**
+     * Write one group of the chunk in one transaction
+     *
+     * If a concurrent writer created one of the names in the meantime the batch
+     * fails on the unique constraint; the group is then retried record by record.
+     *
+     * @param group Positions in the chunk
+     * @param results Filled in at the group's positions
+     */
+    private void write(Chunk chunk, List<Integer> group, AssistantImportResult[] results) {
+        List<Assistant> assistants = new ArrayList<>(group.size());
+        for (int position : group) {
+            assistants.add(chunk.assistants.get(position));
+        }
+        
+        try {
+            List<AssistantUpsertResult> stored = assistantService.createOrUpdateAssistants(assistants);
+            for (int i = 0; i < stored.size(); i++) {
+                int position = group.get(i);
+                results[position] = AssistantImportResult.stored(chunk.indexes.get(position), stored.get(i));
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Batch write conflicted with a concurrent writer, retrying group record by record", e);
+            for (int position : group) {
+                Assistant assistant = chunk.assistants.get(position);
+                try {
+                    AssistantUpsertResult result = assistantService.createOrUpdateAssistant(
+                            assistant.getName(), assistant.getResponseText());
+                    results[position] = AssistantImportResult.stored(chunk.indexes.get(position), result);
+                } catch (RuntimeException ex) {
+                    results[position] = AssistantImportResult.failed(chunk.indexes.get(position), assistant.getName(), ex.getMessage());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Bulk import group of {} records failed", assistants.size(), e);
+            for (int position : group) {
+                results[position] = AssistantImportResult.failed(chunk.indexes.get(position),
+                        chunk.assistants.get(position).getName(), e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Records buffered for the next batched write, with their request positions
+     */
+    private static class Chunk {
+    
+        private final int capacity;
+        private final List<Assistant> assistants;
+        private final List<Integer> indexes;
+        private final Set<String> names = new HashSet<>();
+        
+        Chunk(int capacity) {
+            this.capacity = Math.max(1, capacity);
+            this.assistants = new ArrayList<>(this.capacity);
+            this.indexes = new ArrayList<>(this.capacity);
+        }
+        
+        boolean isFull() {
+            return assistants.size() >= capacity;
+        }
+        
+        boolean containsName(String name) {
+            return names.contains(name);
+        }
+        
+        void add(int index, Assistant assistant) {
+            assistants.add(assistant);
+            indexes.add(index);
+            names.add(assistant.getName());
+        }
+        
+        void clear() {
+            assistants.clear();
+            indexes.clear();
+            names.clear();
+        }
+    }
+}
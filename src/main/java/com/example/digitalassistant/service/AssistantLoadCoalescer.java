@@ -0,0 +1,161 @@
+package com.example.digitalassistant.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight loading of assistants by name.
+ * I added this for cache misses on popular assistants: when an entry is
+ * dropped, every request in flight for that name misses together. The first
+ * one (the leader) runs the database load on its own thread. The others
+ * (followers) wait for the leader's result instead of issuing the same query.
+ *
+ * - Flights are keyed by name and the cache generation at the start of the
+ *   load. A request that arrives after a write starts a new flight instead of
+ *   joining one that may have read the old row.
+ * - A failed load is rethrown to the leader and to every follower (the same
+ *   exception), and is not remembered: the next miss loads again.
+ * - Followers wait at most app.assistant.single-flight.timeout-ms, then get a
+ *   {@link LoadTimeoutException}. The leader's load keeps running and still
+ *   fills the cache.
+ *
+ * Meters:
+ * - assistant.singleflight.calls (counter): loads by role (leader runs the query, follower shares it;
+ *   followers are the database calls saved)
+ * - assistant.singleflight.timeouts (counter): followers that gave up waiting
+ * - assistant.singleflight.failures (counter): leaders and followers that got a failed load
+ * - assistant.singleflight.inflight (gauge): names being loaded right now
+ */
+@Component
+public class AssistantLoadCoalescer {
+
+    private final ConcurrentHashMap<String, Flight> flights = new ConcurrentHashMap<>();
+    private final AssistantMetrics assistantMetrics;
+    private final boolean enabled;
+    private final long timeoutMillis;
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter timeouts;
+    private final Counter failures;
+    
+    public AssistantLoadCoalescer(
+            AssistantMetrics assistantMetrics,
+            MeterRegistry meterRegistry,
+            @Value("${app.assistant.single-flight.enabled:true}") boolean enabled,
+            @Value("${app.assistant.single-flight.timeout-ms:3000}") long timeoutMillis) {
+        this.assistantMetrics = assistantMetrics;
+        this.enabled = enabled;
+        this.timeoutMillis = timeoutMillis;
+        this.leaders = Counter.builder("assistant.singleflight.calls")
+                .description("Assistant loads by single-flight role")
+                .tag("role", "leader")
+                .register(meterRegistry);
+        this.followers = Counter.builder("assistant.singleflight.calls")
+                .description("Assistant loads by single-flight role")
+                .tag("role", "follower")
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("assistant.singleflight.timeouts")
+                .description("Followers that stopped waiting for a shared assistant load")
+                .register(meterRegistry);
+        this.failures = Counter.builder("assistant.singleflight.failures")
+                .description("Callers that got a failed assistant load")
+                .register(meterRegistry);
+        Gauge.builder("assistant.singleflight.inflight", flights, ConcurrentHashMap::size)
+                .description("Assistant names with a load in flight")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Run the load for a name, or wait for the one already running for it
+     *
+     * @param name The assistant name
+     * @param generation The cache generation captured before the load (see AssistantCache)
+     * @param loader The database load; runs on the calling thread if this caller leads
+     * @return The leader's result
+     * @throws LoadTimeoutException if this caller followed and the load took too long
+     * @throws RuntimeException whatever the load threw
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V load(String name, long generation, Supplier<V> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        
+        Flight own = new Flight(generation);
+        Flight flight = flights.compute(name,
+                (key, current) -> current != null && current.generation == generation ? current : own);
+        
+        if (flight == own) {
+            leaders.increment();
+            try {
+                V value = loader.get();
+                own.result.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                failures.increment();
+                own.result.completeExceptionally(e);
+                throw e;
+            } finally {
+                flights.remove(name, own);
+            }
+        }
+        
+        followers.increment();
+        assistantMetrics.lookup(AssistantMetrics.RESOLVED_BY_SINGLE_FLIGHT);
+        try {
+            return (V) flight.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new LoadTimeoutException(name, timeoutMillis);
+        } catch (ExecutionException e) {
+            failures.increment();
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for assistant '" + name + "'", e);
+        }
+    }
+    
+    /**
+     * One load in progress
+     */
+    private static class Flight {
+    
+        final long generation;
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        
+        Flight(long generation) {
+            this.generation = generation;
+        }
+    }
+    
+    /**
+     * A follower waited longer than the single-flight timeout
+     *
+     * Thrown under load, so it doesn't capture a stack trace.
+     */
+    public static class LoadTimeoutException extends RuntimeException {
+    
+        public LoadTimeoutException(String assistantName, long timeoutMillis) {
+            super("Loading assistant '" + assistantName + "' took longer than " + timeoutMillis + "ms",
+                    null, false, false);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.digitalassistant.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Micrometer meters for the assistant service.
+ * I added this so every service method reports its latency split by outcome,
+ * which shows which path (cache hit, database load, upsert...) drives the p99.
+ *
+ * Meters:
+ * - assistant.service (timer, percentile histogram): tags method and outcome
+ * - assistant.lookup (counter): where a name lookup was answered (tag resolved.by)
+ */
+@Component
+public class AssistantMetrics {
+
+    // Outcome tag values
+    public static final String FOUND = "found";
+    public static final String NOT_FOUND = "not_found";
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String SUCCESS = "success";
+    public static final String INVALID = "invalid";
+    public static final String ERROR = "error";
+    
+    // Where a lookup was answered
+    public static final String RESOLVED_BY_CACHE = "cache";
+    public static final String RESOLVED_BY_OFF_HEAP = "offheap";
+    public static final String RESOLVED_BY_FILTER = "name_filter";
+    public static final String RESOLVED_BY_NEGATIVE_CACHE = "negative_cache";
+    public static final String RESOLVED_BY_DATABASE = "database";
+    public static final String RESOLVED_BY_SINGLE_FLIGHT = "single_flight";
+    
+    private final MeterRegistry meterRegistry;
+    
+    // Meters are looked up once per tag combination instead of on every call
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> lookups = new ConcurrentHashMap<>();
+    
+    public AssistantMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * Start timing a service call
+     *
+     * @return The sample to pass to {@link #record}
+     */
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+    
+    /**
+     * Stop timing a service call
+     *
+     * @param sample The sample returned by {@link #start()}
+     * @param method Service method name
+     * @param outcome One of the outcome constants
+     */
+    public void record(Timer.Sample sample, String method, String outcome) {
+        Timer timer = timers.computeIfAbsent(method + ':' + outcome, key -> Timer.builder("assistant.service")
+                .description("Assistant service calls")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        sample.stop(timer);
+    }
+    
+    /**
+     * Count where a name lookup on the message path was answered
+     *
+     * @param resolvedBy One of the RESOLVED_BY constants
+     */
+    public void lookup(String resolvedBy) {
+        lookups.computeIfAbsent(resolvedBy, key -> Counter.builder("assistant.lookup")
+                .description("Assistant name lookups by where they were answered")
+                .tag("resolved.by", resolvedBy)
+                .register(meterRegistry))
+                .increment();
+    }
+}
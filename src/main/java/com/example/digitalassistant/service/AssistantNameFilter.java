@@ -0,0 +1,194 @@
+package com.example.digitalassistant.service;
+
+import com.example.digitalassistant.repository.AssistantStore;
+import com.example.digitalassistant.stats.Hashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Membership filter over the names in the assistants table.
+ * I implemented this as a counting Bloom filter so unknown names (typos, bots)
+ * can be rejected before any database work while still supporting deletes.
+ *
+ * Guarantees:
+ * - No false negatives: a name that exists always passes the filter
+ * - Rare false positives: those fall through to the negative-lookup cache and the database
+ *
+ * Counters are 4 bits wide and packed 16 per long; a counter that saturates
+ * is never decremented again so it can't produce a false negative.
+ */
+@Component
+public class AssistantNameFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AssistantNameFilter.class);
+    
+    private static final int COUNTERS_PER_WORD = 16;
+    private static final long COUNTER_MASK = 0xFL;
+    
+    private final AssistantStore assistantStore;
+    private final int expectedNames;
+    private final int counterCount;
+    private final int hashCount;
+    private final AtomicLongArray counters;
+    private final AtomicLong approximateSize = new AtomicLong();
+    
+    // The filter lets everything through until it has been built from the table
+    private volatile boolean ready;
+    private volatile boolean capacityWarningLogged;
+    
+    public AssistantNameFilter(
+            AssistantStore assistantStore,
+            @Value("${app.assistant.name-filter.expected-names:100000}") int expectedNames,
+            @Value("${app.assistant.name-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.assistantStore = assistantStore;
+        this.expectedNames = Math.max(1, expectedNames);
+        
+        // Standard Bloom filter sizing: m = -n ln(p) / (ln 2)^2, k = m/n ln 2
+        double bits = -this.expectedNames * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        this.counterCount = (int) Math.min(Integer.MAX_VALUE - COUNTERS_PER_WORD, Math.max(COUNTERS_PER_WORD, Math.ceil(bits)));
+        this.hashCount = Math.max(1, (int) Math.round((double) counterCount / this.expectedNames * Math.log(2)));
+        this.counters = new AtomicLongArray((counterCount + COUNTERS_PER_WORD - 1) / COUNTERS_PER_WORD);
+    }
+    
+    /**
+     * Load every existing assistant name into the filter on startup
+     */
+    @PostConstruct
+    public void initialize() {
+        List<String> names = assistantStore.findAllNames();
+        for (String name : names) {
+            add(name);
+        }
+        ready = true;
+        log.debug("Assistant name filter built with {} names ({} counters, {} hashes)",
+                names.size(), counterCount, hashCount);
+    }
+    
+    /**
+     * Check whether an assistant with this name might exist
+     *
+     * @param name The assistant name
+     * @return false only if the name definitely doesn't exist
+     */
+    public boolean mightContain(String name) {
+        if (!ready) {
+            return true;
+        }
+        
+        long hash = Hashing.hash64(name);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            if (counterAt(index(h1, h2, i)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Record a newly created assistant name
+     *
+     * Safe to call before the creating transaction commits: a rollback only
+     * leaves a harmless false positive behind.
+     *
+     * @param name The name of the assistant that was created
+     */
+    public void add(String name) {
+        long hash = Hashing.hash64(name);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            increment(index(h1, h2, i));
+        }
+        
+        if (approximateSize.incrementAndGet() > expectedNames && !capacityWarningLogged) {
+            capacityWarningLogged = true;
+            log.warn("Assistant name filter holds more than {} names; false positive rate will rise. " +
+                    "Increase app.assistant.name-filter.expected-names", expectedNames);
+        }
+    }
+    
+    /**
+     * Forget the name of a deleted assistant
+     *
+     * Only call this for rows that were actually deleted. Inside a transaction
+     * the counters are decremented after commit so a rolled back delete can't
+     * turn into a false negative.
+     *
+     * @param name The name of the assistant that was deleted
+     */
+    public void remove(String name) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doRemove(name);
+                }
+            });
+        } else {
+            doRemove(name);
+        }
+    }
+    
+    private void doRemove(String name) {
+        long hash = Hashing.hash64(name);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            decrement(index(h1, h2, i));
+        }
+        approximateSize.decrementAndGet();
+    }
+    
+    private int index(int h1, int h2, int i) {
+        // Kirsch-Mitzenmacher double hashing
+        int combined = h1 + i * h2;
+        return (combined & Integer.MAX_VALUE) % counterCount;
+    }
+    
+    private int counterAt(int index) {
+        long word = counters.get(index / COUNTERS_PER_WORD);
+        int shift = (index % COUNTERS_PER_WORD) * 4;
+        return (int) ((word >>> shift) & COUNTER_MASK);
+    }
+    
+    private void increment(int index) {
+        int wordIndex = index / COUNTERS_PER_WORD;
+        int shift = (index % COUNTERS_PER_WORD) * 4;
+        while (true) {
+            long word = counters.get(wordIndex);
+            long counter = (word >>> shift) & COUNTER_MASK;
+            if (counter == COUNTER_MASK) {
+                return; // saturated
+            }
+            if (counters.compareAndSet(wordIndex, word, word + (1L << shift))) {
+                return;
+            }
+        }
+    }
+    
+    private void decrement(int index) {
+        int wordIndex = index / COUNTERS_PER_WORD;
+        int shift = (index % COUNTERS_PER_WORD) * 4;
+        while (true) {
+            long word = counters.get(wordIndex);
+            long counter = (word >>> shift) & COUNTER_MASK;
+            if (counter == 0 || counter == COUNTER_MASK) {
+                return; // empty or saturated counters are left alone
+            }
+            if (counters.compareAndSet(wordIndex, word, word - (1L << shift))) {
+                return;
+            }
+        }
+    }
+}
@@ -1,15 +1,36 @@
 package com.example.digitalassistant.service;
 
 import com.example.digitalassistant.model.Assistant;
+import com.example.digitalassistant.model.AssistantPage;
+import com.example.digitalassistant.model.AssistantPageCursor;
+import com.example.digitalassistant.model.AssistantSnapshot;
+import com.example.digitalassistant.model.AssistantSummary;
+import com.example.digitalassistant.model.AssistantUpsertResult;
+import com.example.digitalassistant.model.BatchMessageItem;
+import com.example.digitalassistant.model.BatchMessageResult;
+import com.example.digitalassistant.model.ErrorCode;
 import com.example.digitalassistant.model.MessageRequest;
 import com.example.digitalassistant.model.MessageResponse;
-import com.example.digitalassistant.repository.AssistantRepository;
+import com.example.digitalassistant.model.PrerenderedMessageResponse;
+import com.example.digitalassistant.repository.AssistantStore;
+import com.example.digitalassistant.stats.AssistantTrafficStats;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service layer containing business logic for digital assistant operations.
@@ -18,48 +39,408 @@ import java.util.Optional;
 @Service
 @Transactional
 public class AssistantService {
+
+    // Storage engine for assistants (H2 by default, see app.assistant.store)
+    @Autowired
+    private AssistantStore assistantStore;
+    
+    // Name-indexed cache in front of the repository for the message path
+    @Autowired
+    private AssistantCache assistantCache;
+    
+    // Membership filter that rejects unknown names before any database work
+    @Autowired
+    private AssistantNameFilter assistantNameFilter;
+    
+    // Shares one database load between concurrent cache misses for the same name
+    @Autowired
+    private AssistantLoadCoalescer loadCoalescer;
+    
+    // Serializes writes of the same name; different names write in parallel
+    @Autowired
+    private AssistantWriteLocks writeLocks;
     
-    // Repository for database operations
+    // Starts write transactions inside the name locks, so the locks cover the commit
     @Autowired
-    private AssistantRepository assistantRepository;
+    private TransactionTemplate transactionTemplate;
+    
+    // Off-heap name -> responseText copy of every assistant (when enabled)
+    @Autowired
+    private OffHeapAssistantIndex offHeapIndex;
+    
+    // Latency timers per method and outcome
+    @Autowired
+    private AssistantMetrics assistantMetrics;
+    
+    // Fixed-memory per-assistant traffic statistics (hot assistants, distinct callers)
+    @Autowired
+    private AssistantTrafficStats trafficStats;
+    
+    // Per-item validation for batch message requests
+    @Autowired
+    private Validator validator;
+    
+    // Page size limits for the paginated listing
+    @Value("${app.assistant.page.default-size:50}")
+    private int defaultPageSize;
+    
+    @Value("${app.assistant.page.max-size:500}")
+    private int maxPageSize;
     
     /**
      * Creates or updates an assistant with the given name and response text
+     * 
+     * Uses a single upsert statement instead of a lookup followed by a save,
+     * and reports back whether the assistant was created or updated.
+     * 
+     * Writes of the same name are serialized by a striped lock held until the
+     * transaction has committed; writes of different names run in parallel.
+     * 
+     * @param name The unique name of the assistant
+     * @param responseText The predefined response text
+     * @return The stored assistant and whether it was newly created
      */
-    public Assistant createOrUpdateAssistant(String name, String responseText) {
-        Optional<Assistant> existingAssistant = assistantRepository.findByName(name);
-        
-        if (existingAssistant.isPresent()) {
-            Assistant assistant = existingAssistant.get();
-            assistant.setResponseText(responseText);
-            return assistantRepository.save(assistant);
-        } else {
-            Assistant newAssistant = new Assistant(name, responseText);
-            return assistantRepository.save(newAssistant);
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public AssistantUpsertResult createOrUpdateAssistant(String name, String responseText) {
+        Timer.Sample sample = assistantMetrics.start();
+        String outcome = AssistantMetrics.ERROR;
+        try {
+            AssistantUpsertResult result = writeLocks.withLock(name, () -> transactionTemplate.execute(status -> {
+                assistantCache.evict(name);
+                
+                AssistantUpsertResult stored = assistantStore.upsert(name, responseText);
+                if (stored.isCreated()) {
+                    assistantNameFilter.add(name);
+                }
+                offHeapIndex.put(name, responseText);
+                return stored;
+            }));
+            outcome = result.isCreated() ? AssistantMetrics.CREATED : AssistantMetrics.UPDATED;
+            return result;
+        } finally {
+            assistantMetrics.record(sample, "createOrUpdateAssistant", outcome);
+        }
+    }
+    
+    /**
+     * Creates or updates a chunk of assistants in one transaction
+     * 
+     * Used by the bulk import; each call is its own transaction so a large
+     * import commits in chunks. Names must be unique within the chunk. The
+     * chunk holds the write locks of all its names until it has committed,
+     * so the import passes groups of a few stripes (see AssistantWriteLocks#groupByStripes).
+     * 
+     * @param assistants The assistants to store
+     * @return One result per assistant, in the same order
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<AssistantUpsertResult> createOrUpdateAssistants(List<Assistant> assistants) {
+        Timer.Sample sample = assistantMetrics.start();
+        String outcome = AssistantMetrics.ERROR;
+        try {
+            List<String> names = new ArrayList<>(assistants.size());
+            for (Assistant assistant : assistants) {
+                names.add(assistant.getName());
+            }
+            
+            List<AssistantUpsertResult> results = writeLocks.withLocks(names, () -> transactionTemplate.execute(status -> {
+                for (String name : names) {
+                    assistantCache.evict(name);
+                }
+                
+                List<AssistantUpsertResult> stored = assistantStore.upsertAll(assistants);
+                for (AssistantUpsertResult result : stored) {
+                    if (result.isCreated()) {
+                        assistantNameFilter.add(result.getAssistant().getName());
+                    }
+                    offHeapIndex.put(result.getAssistant().getName(), result.getAssistant().getResponseText());
+                }
+                return stored;
+            }));
+            outcome = AssistantMetrics.SUCCESS;
+            return results;
+        } finally {
+            assistantMetrics.record(sample, "createOrUpdateAssistants", outcome);
         }
     }
     
     /**
      * Processes a message and returns the assistant's predefined response
+     * 
+     * Served from the assistant cache when possible; no transaction is started
+     * here so a cache hit never touches JPA. Unknown names are reported as an
+     * empty result rather than an exception so the not-found path stays cheap.
+     * 
+     * @param assistantName The name of the assistant to message
+     * @param messageRequest The user's message
+     * @return Optional response, empty if the assistant doesn't exist
      */
-    public MessageResponse sendMessageToAssistant(String assistantName, MessageRequest messageRequest) {
-        // Find the assistant by name
-        Optional<Assistant> assistant = assistantRepository.findByName(assistantName);
-        
-        if (assistant.isPresent()) {
-            // Assistant found - create and return response
-            return new MessageResponse(
-                assistantName,                          // Which assistant responded
-                assistant.get().getResponseText(),      // Assistant's predefined response
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<MessageResponse> sendMessageToAssistant(String assistantName, MessageRequest messageRequest) {
+        return sendMessageToAssistant(assistantName, messageRequest, null);
+    }
+    
+    /**
+     * Processes a message and records which caller sent it
+     * 
+     * Same as {@link #sendMessageToAssistant(String, MessageRequest)}; the caller
+     * only feeds the distinct-caller estimate of the traffic statistics.
+     * 
+     * @param assistantName The name of the assistant to message
+     * @param messageRequest The user's message
+     * @param callerId Identity of the caller (e.g. client address), or null
+     * @return Optional response, empty if the assistant doesn't exist
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<MessageResponse> sendMessageToAssistant(String assistantName, MessageRequest messageRequest,
+                                                            String callerId) {
+        Timer.Sample sample = assistantMetrics.start();
+        String outcome = AssistantMetrics.ERROR;
+        try {
+            // Find the assistant by name (cache first, then database)
+            Optional<AssistantSnapshot> assistant = findSnapshotByName(assistantName);
+            outcome = assistant.isPresent() ? AssistantMetrics.FOUND : AssistantMetrics.NOT_FOUND;
+            trafficStats.record(assistantName, assistant.isPresent(), callerId);
+            
+            // Assistant found - create the response around its pre-rendered JSON
+            return assistant.map(found -> new PrerenderedMessageResponse(
+                found,                                  // Which assistant responded, with its response
                 messageRequest.getMessage()             // User's original message
-            );
-        } else {
-            // Assistant not found - throw custom exception
-            throw new AssistantNotFoundException(
-                "Assistant with name '" + assistantName + "' not found. " +
-                "Please create the assistant first or check the name spelling."
-            );
+            ));
+        } finally {
+            assistantMetrics.record(sample, "sendMessageToAssistant", outcome);
+        }
+    }
+    
+    /**
+     * Resolves an assistant once for a long-lived chat session
+     * 
+     * Uses the same lookup as {@link #sendMessageToAssistant}; the session keeps
+     * the returned snapshot and answers later messages from it directly.
+     * 
+     * @param assistantName The name of the assistant to bind to
+     * @return Optional snapshot of the assistant if it exists
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<AssistantSnapshot> resolveAssistant(String assistantName) {
+        Timer.Sample sample = assistantMetrics.start();
+        String outcome = AssistantMetrics.ERROR;
+        try {
+            Optional<AssistantSnapshot> assistant = findSnapshotByName(assistantName);
+            outcome = assistant.isPresent() ? AssistantMetrics.FOUND : AssistantMetrics.NOT_FOUND;
+            return assistant;
+        } finally {
+            assistantMetrics.record(sample, "resolveAssistant", outcome);
+        }
+    }
+    
+    /**
+     * Current write generation of the assistant cache
+     * 
+     * Changes whenever any assistant is created, updated or deleted, so holders
+     * of a snapshot know when to resolve it again.
+     * 
+     * @return Opaque generation number
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public long getAssistantGeneration() {
+        return assistantCache.generation();
+    }
+    
+    /**
+     * Processes a batch of messages, possibly to many different assistants
+     * 
+     * Every distinct assistant name is resolved once: from the cache where
+     * possible, and all remaining names with a single IN query. Each entry gets
+     * its own result (200, 400 or 404) in request order.
+     * 
+     * @param items The (assistantName, message) pairs to process
+     * @return One result per item, in the same order
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<BatchMessageResult> sendMessagesToAssistants(List<BatchMessageItem> items) {
+        Timer.Sample sample = assistantMetrics.start();
+        String outcome = AssistantMetrics.ERROR;
+        try {
+            List<BatchMessageResult> results = resolveBatch(items);
+            outcome = AssistantMetrics.SUCCESS;
+            return results;
+        } finally {
+            assistantMetrics.record(sample, "sendMessagesToAssistants", outcome);
+        }
+    }
+    
+    /**
+     * Validate and answer every batch entry, in request order
+     */
+    private List<BatchMessageResult> resolveBatch(List<BatchMessageItem> items) {
+        List<BatchMessageResult> results = new ArrayList<>(items.size());
+        String[] errors = new String[items.size()];
+        Set<String> names = new HashSet<>();
+        
+        // Validate entries and collect the distinct names to resolve
+        for (int i = 0; i < items.size(); i++) {
+            errors[i] = validate(items.get(i));
+            if (errors[i] == null) {
+                names.add(items.get(i).getAssistantName());
+            }
+        }
+        
+        Map<String, AssistantSnapshot> assistants = findSnapshotsByNames(names);
+        
+        for (int i = 0; i < items.size(); i++) {
+            BatchMessageItem item = items.get(i);
+            if (errors[i] != null) {
+                results.add(BatchMessageResult.invalid(i, errors[i]));
+                continue;
+            }
+            
+            AssistantSnapshot assistant = assistants.get(item.getAssistantName());
+            if (assistant == null) {
+                results.add(BatchMessageResult.notFound(i, item.getAssistantName()));
+            } else {
+                results.add(BatchMessageResult.ok(i, new MessageResponse(
+                    item.getAssistantName(), assistant.getResponseText(), item.getMessage())));
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Validate one batch entry
+     * 
+     * @return Validation messages, or null if the entry is valid
+     */
+    private String validate(BatchMessageItem item) {
+        if (item == null) {
+            return "Entry must be an object with assistantName and message";
+        }
+        
+        Set<ConstraintViolation<BatchMessageItem>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        
+        StringBuilder errors = new StringBuilder();
+        for (ConstraintViolation<BatchMessageItem> violation : violations) {
+            if (errors.length() > 0) {
+                errors.append("; ");
+            }
+            errors.append(violation.getMessage());
+        }
+        return errors.toString();
+    }
+    
+    /**
+     * Resolve several assistants for the message path at once
+     * 
+     * Same lookup order as {@link #findSnapshotByName(String)}, except that all
+     * names missing from the cache are loaded with one query.
+     * 
+     * @param names Distinct assistant names
+     * @return Snapshots of the assistants that exist, keyed by name
+     */
+    private Map<String, AssistantSnapshot> findSnapshotsByNames(Set<String> names) {
+        Map<String, AssistantSnapshot> found = new HashMap<>();
+        List<String> toLoad = new ArrayList<>();
+        
+        for (String name : names) {
+            AssistantSnapshot cached = assistantCache.get(name);
+            if (cached != null) {
+                found.put(name, cached);
+                assistantMetrics.lookup(AssistantMetrics.RESOLVED_BY_CACHE);
+            } else if (offHeapIndex.isReady()) {
+                findInOffHeapIndex(name).ifPresent(snapshot -> found.put(name, snapshot));
+            } else if (!assistantNameFilter.mightContain(name)) {
+                assistantMetrics.lookup(AssistantMetrics.RESOLVED_BY_FILTER);
+            } else if (assistantCache.isKnownMissing(name)) {
+                assistantMetrics.lookup(AssistantMetrics.RESOLVED_BY_NEGATIVE_CACHE);
+            } else {
+                toLoad.add(name);
+            }
+        }
+        
+        if (!toLoad.isEmpty()) {
+            long generation = assistantCache.generation();
+            for (AssistantSnapshot loaded : assistantStore.findSnapshotsByNameIn(toLoad)) {
+                found.put(loaded.getName(), loaded);
+                assistantCache.put(loaded, generation);
+            }
+            for (String name : toLoad) {
+                if (!found.containsKey(name)) {
+                    assistantCache.markMissing(name, generation);
+                }
+                assistantMetrics.lookup(AssistantMetrics.RESOLVED_BY_DATABASE);
+            }
+        }
+        return found;
+    }
+    
+    /**
+     * Resolve an assistant for the message path
+     * 
+     * Lookup order:
+     * 1. In-memory cache of known assistants
+     * 2. Off-heap index, if enabled - it holds every assistant, so it has the final say
+     * 3. Name filter - names that definitely don't exist stop here
+     * 4. Negative-lookup cache of names recently confirmed missing
+     * 5. Assistant store, caching whatever it finds (or doesn't)
+     * 
+     * Concurrent misses for the same name share one store load (AssistantLoadCoalescer).
+     * 
+     * @param name The unique name of the assistant
+     * @return Optional snapshot of the assistant if it exists
+     */
+    private Optional<AssistantSnapshot> findSnapshotByName(String name) {
+        AssistantSnapshot cached = assistantCache.get(name);
+        if (cached != null) {
+            assistantMetrics.lookup(AssistantMetrics.RESOLVED_BY_CACHE);
+            return Optional.of(cached);
+        }
+        
+        if (offHeapIndex.isReady()) {
+            return findInOffHeapIndex(name);
+        }
+        if (!assistantNameFilter.mightContain(name)) {
+            assistantMetrics.lookup(AssistantMetrics.RESOLVED_BY_FILTER);
+            return Optional.empty();
+        }
+        if (assistantCache.isKnownMissing(name)) {
+            assistantMetrics.lookup(AssistantMetrics.RESOLVED_BY_NEGATIVE_CACHE);
+            return Optional.empty();
         }
+        
+        // Concurrent misses for the same name share one database load
+        long generation = assistantCache.generation();
+        return loadCoalescer.load(name, generation, () -> {
+            assistantMetrics.lookup(AssistantMetrics.RESOLVED_BY_DATABASE);
+            Optional<AssistantSnapshot> loaded = assistantStore.findByName(name).map(AssistantSnapshot::of);
+            if (loaded.isPresent()) {
+                assistantCache.put(loaded.get(), generation);
+            } else {
+                assistantCache.markMissing(name, generation);
+            }
+            return loaded;
+        });
+    }
+    
+    /**
+     * Resolve an assistant from the off-heap index and cache the snapshot
+     * 
+     * @param name The unique name of the assistant
+     * @return Optional snapshot of the assistant if it exists
+     */
+    private Optional<AssistantSnapshot> findInOffHeapIndex(String name) {
+        assistantMetrics.lookup(AssistantMetrics.RESOLVED_BY_OFF_HEAP);
+        long generation = assistantCache.generation();
+        String responseText = offHeapIndex.get(name);
+        if (responseText == null) {
+            return Optional.empty();
+        }
+        
+        AssistantSnapshot snapshot = new AssistantSnapshot(name, responseText);
+        assistantCache.put(snapshot, generation);
+        return Optional.of(snapshot);
     }
     
     /**
@@ -72,7 +453,66 @@ public class AssistantService {
      */
     @Transactional(readOnly = true)
     public List<Assistant> getAllAssistants() {
-        return assistantRepository.findAllOrderByCreatedAtDesc();
+        Timer.Sample sample = assistantMetrics.start();
+        String outcome = AssistantMetrics.ERROR;
+        try {
+            List<Assistant> assistants = assistantStore.findAllOrderByCreatedAtDesc();
+            outcome = AssistantMetrics.SUCCESS;
+            return assistants;
+        } finally {
+            assistantMetrics.record(sample, "getAllAssistants", outcome);
+        }
+    }
+    
+    /**
+     * Retrieve one page of assistants, newest first
+     * 
+     * Keyset pagination on (createdAt, id): the cursor of the previous page
+     * marks where this one starts. One extra row is fetched to find out
+     * whether there is a next page.
+     * 
+     * @param cursor Token from the previous page's nextCursor, or null for the first page
+     * @param size Requested page size, or null for the configured default
+     * @return The page of assistant summaries and the cursor for the next one
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public AssistantPage getAssistantPage(String cursor, Integer size) {
+        Timer.Sample sample = assistantMetrics.start();
+        String outcome = AssistantMetrics.ERROR;
+        try {
+            AssistantPage page = loadPage(cursor, size);
+            outcome = AssistantMetrics.SUCCESS;
+            return page;
+        } catch (IllegalArgumentException e) {
+            outcome = AssistantMetrics.INVALID;
+            throw e;
+        } finally {
+            assistantMetrics.record(sample, "getAssistantPage", outcome);
+        }
+    }
+    
+    /**
+     * Load one page of summaries plus one extra row to detect the next page
+     */
+    private AssistantPage loadPage(String cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        int limit = pageSize + 1;
+        
+        List<AssistantSummary> items;
+        if (cursor == null || cursor.isEmpty()) {
+            items = assistantStore.findFirstPage(limit);
+        } else {
+            AssistantPageCursor after = AssistantPageCursor.decode(cursor);
+            items = assistantStore.findPageAfter(after.getCreatedAt(), after.getId(), limit);
+        }
+        
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            nextCursor = AssistantPageCursor.after(items.get(pageSize - 1)).encode();
+        }
+        return new AssistantPage(items, nextCursor, pageSize);
     }
     
     /**
@@ -86,36 +526,65 @@ public class AssistantService {
      * @param name The unique name of the assistant to find
      * @return Optional<Assistant> containing the assistant if found
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Optional<Assistant> getAssistantByName(String name) {
-        return assistantRepository.findByName(name);
+        Timer.Sample sample = assistantMetrics.start();
+        String outcome = AssistantMetrics.ERROR;
+        try {
+            Optional<Assistant> assistant = Optional.empty();
+            if (assistantNameFilter.mightContain(name) && !assistantCache.isKnownMissing(name)) {
+                assistant = assistantStore.findByName(name);
+            }
+            outcome = assistant.isPresent() ? AssistantMetrics.FOUND : AssistantMetrics.NOT_FOUND;
+            return assistant;
+        } finally {
+            assistantMetrics.record(sample, "getAssistantByName", outcome);
+        }
     }
     
     /**
      * Delete an assistant by their name
      * 
      * Business Logic:
-     * 1. Check if the assistant exists
-     * 2. If exists: Delete the assistant
-     * 3. If not exists: Throw custom exception
+     * 1. Delete the assistant with a single statement
+     * 2. If nothing was deleted: Throw custom exception
      * 
-     * This ensures we provide meaningful error messages when trying to delete
-     * non-existent assistants.
+     * The deleted row count replaces a separate existence check, so a delete
+     * costs one statement and can't race with a concurrent delete in between.
      * 
      * @param name The name of the assistant to delete
      * @throws AssistantNotFoundException if the assistant doesn't exist
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void deleteAssistant(String name) {
-        // Check if assistant exists before attempting deletion
-        if (!assistantRepository.existsByName(name)) {
-            throw new AssistantNotFoundException(
-                "Cannot delete assistant '" + name + "' because it doesn't exist. " +
-                "Please check the name spelling."
-            );
+        Timer.Sample sample = assistantMetrics.start();
+        String outcome = AssistantMetrics.ERROR;
+        try {
+            // The name filter rules out most unknown names without a lock or a statement
+            if (!assistantNameFilter.mightContain(name)) {
+                outcome = AssistantMetrics.NOT_FOUND;
+                throw new AssistantNotFoundException(ErrorCode.ASSISTANT_NOT_DELETABLE, name);
+            }
+            
+            boolean deleted = writeLocks.withLock(name, () -> transactionTemplate.execute(status -> {
+                if (assistantStore.deleteByName(name) == 0) {
+                    return false;
+                }
+                
+                // Drop it from the cache, name filter and off-heap index
+                assistantCache.evict(name);
+                assistantNameFilter.remove(name);
+                offHeapIndex.remove(name);
+                return true;
+            }));
+            if (!deleted) {
+                outcome = AssistantMetrics.NOT_FOUND;
+                throw new AssistantNotFoundException(ErrorCode.ASSISTANT_NOT_DELETABLE, name);
+            }
+            outcome = AssistantMetrics.DELETED;
+        } finally {
+            assistantMetrics.record(sample, "deleteAssistant", outcome);
         }
-        
-        // Delete the assistant
-        assistantRepository.deleteByName(name);
     }
     
     /**
@@ -129,7 +598,15 @@ public class AssistantService {
      */
     @Transactional(readOnly = true)
     public boolean assistantExists(String name) {
-        return assistantRepository.existsByName(name);
+        Timer.Sample sample = assistantMetrics.start();
+        String outcome = AssistantMetrics.ERROR;
+        try {
+            boolean exists = assistantStore.existsByName(name);
+            outcome = exists ? AssistantMetrics.FOUND : AssistantMetrics.NOT_FOUND;
+            return exists;
+        } finally {
+            assistantMetrics.record(sample, "assistantExists", outcome);
+        }
     }
     
     /**
@@ -141,7 +618,25 @@ public class AssistantService {
      */
     @Transactional(readOnly = true)
     public long getAssistantCount() {
-        return assistantRepository.count();
+        Timer.Sample sample = assistantMetrics.start();
+        String outcome = AssistantMetrics.ERROR;
+        try {
+            long count = assistantStore.count();
+            outcome = AssistantMetrics.SUCCESS;
+            return count;
+        } finally {
+            assistantMetrics.record(sample, "getAssistantCount", outcome);
+        }
+    }
+    
+    /**
+     * Get hit/miss statistics of the assistant cache
+     * 
+     * @return Map of cache statistics for monitoring responses
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Map<String, Object> getCacheStats() {
+        return assistantCache.getStats();
     }
     
     /**
@@ -151,11 +646,29 @@ public class AssistantService {
      * and allows for better error messages to API consumers.
      * 
      * Usage:
-     * - Thrown when trying to send messages to non-existent assistants
      * - Thrown when trying to delete non-existent assistants
      * - Caught by the controller layer for proper HTTP error responses
+     * 
+     * Not-found is an expected outcome rather than a bug, so the exception
+     * doesn't capture a stack trace. When created for an assistant name, the
+     * message is only built if someone asks for it.
      */
     public static class AssistantNotFoundException extends RuntimeException {
+    
+        private final ErrorCode code;
+        private final String assistantName;
+        
+        /**
+         * Constructor for a specific assistant; the message comes from the code's template
+         * 
+         * @param code The error to report (its details template takes the name)
+         * @param assistantName The name of the assistant that doesn't exist
+         */
+        public AssistantNotFoundException(ErrorCode code, String assistantName) {
+            super(null, null, false, false);
+            this.code = code;
+            this.assistantName = assistantName;
+        }
         
         /**
          * Constructor with custom error message
@@ -163,7 +676,9 @@ public class AssistantService {
          * @param message Descriptive error message explaining what went wrong
          */
         public AssistantNotFoundException(String message) {
-            super(message);
+            super(message, null, false, false);
+            this.code = ErrorCode.ASSISTANT_NOT_FOUND;
+            this.assistantName = null;
         }
         
         /**
@@ -174,6 +689,25 @@ public class AssistantService {
          */
         public AssistantNotFoundException(String message, Throwable cause) {
             super(message, cause);
+            this.code = ErrorCode.ASSISTANT_NOT_FOUND;
+            this.assistantName = null;
+        }
+        
+        @Override
+        public String getMessage() {
+            String message = super.getMessage();
+            if (message == null && assistantName != null) {
+                return code.details(assistantName);
+            }
+            return message;
+        }
+        
+        public ErrorCode getCode() {
+            return code;
+        }
+        
+        public String getAssistantName() {
+            return assistantName;
         }
     }
 }
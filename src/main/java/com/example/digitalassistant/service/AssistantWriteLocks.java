@@ -0,0 +1,151 @@
+package com.example.digitalassistant.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped locks that serialize writes to the same assistant name in this process.
+ * I added this because two concurrent writes of the same new name could both
+ * try to insert it (the bulk upsert checks for existing names first, and H2
+ * can report a concurrent MERGE of the same key as a duplicate). Their name
+ * filter and off-heap index updates could also land in the opposite order of
+ * the commits. One global lock would fix both but serialize every write.
+ *
+ * A name maps to one of app.assistant.write-locks.stripes locks by its hash.
+ * Writes of the same name always share a lock; different names only contend
+ * when they hash to the same stripe. Hold the lock around the whole
+ * transaction, commit included, or the next writer can still see the old row.
+ * A bulk write should lock a few stripes at a time (see {@link #groupByStripes}).
+ *
+ * Meters:
+ * - assistant.write.lock.wait (timer): time writers waited for their stripes
+ */
+@Component
+public class AssistantWriteLocks {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final Timer lockWait;
+    
+    public AssistantWriteLocks(
+            MeterRegistry meterRegistry,
+            @Value("${app.assistant.write-locks.stripes:64}") int stripeCount) {
+        // A power of two so the stripe is a mask of the hash
+        int size = Integer.highestOneBit(Math.max(1, Math.min(stripeCount, 1 << 16)) * 2 - 1);
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+        this.lockWait = Timer.builder("assistant.write.lock.wait")
+                .description("Time assistant writes waited for their name locks")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    public int getStripeCount() {
+        return stripes.length;
+    }
+    
+    /**
+     * Run a write while holding the lock of one name
+     */
+    public <T> T withLock(String name, Supplier<T> write) {
+        ReentrantLock lock = stripes[stripe(name)];
+        long started = System.nanoTime();
+        lock.lock();
+        lockWait.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        try {
+            return write.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Run a write while holding the locks of several names
+     *
+     * Stripes are taken in ascending order, so two multi-name writes can't deadlock.
+     */
+    public <T> T withLocks(Collection<String> names, Supplier<T> write) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (String name : names) {
+            indexes.add(stripe(name));
+        }
+        
+        long started = System.nanoTime();
+        int locked = 0;
+        try {
+            for (int index : indexes) {
+                stripes[index].lock();
+                locked++;
+            }
+            lockWait.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            return write.get();
+        } finally {
+            // Unlock only the stripes that were actually locked
+            for (int index : indexes) {
+                if (locked-- == 0) {
+                    break;
+                }
+                stripes[index].unlock();
+            }
+        }
+    }
+    
+    /**
+     * Split names into groups that each need at most maxStripes stripes
+     *
+     * For bulk writes: a 500-name chunk hashes to nearly every stripe, so
+     * locking it whole stalls every other writer until it commits. Writing it
+     * group by group only stalls the writers of a few stripes at a time.
+     *
+     * @param names The names to write, unique
+     * @param maxStripes Stripes one group may take
+     * @return Positions in names, in ascending order within each group; every position is in exactly one group
+     */
+    public List<List<Integer>> groupByStripes(List<String> names, int maxStripes) {
+        TreeMap<Integer, List<Integer>> byStripe = new TreeMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            byStripe.computeIfAbsent(stripe(names.get(i)), index -> new ArrayList<>()).add(i);
+        }
+        
+        int limit = Math.max(1, maxStripes);
+        List<List<Integer>> groups = new ArrayList<>();
+        List<Integer> group = new ArrayList<>();
+        int groupStripes = 0;
+        for (List<Integer> positions : byStripe.values()) {
+            if (groupStripes == limit) {
+                Collections.sort(group);
+                groups.add(group);
+                group = new ArrayList<>();
+                groupStripes = 0;
+            }
+            group.addAll(positions);
+            groupStripes++;
+        }
+        if (!group.isEmpty()) {
+            Collections.sort(group);
+            groups.add(group);
+        }
+        return groups;
+    }
+    
+    private int stripe(String name) {
+        // Spread the high bits like HashMap so similar names don't share a stripe
+        int hash = name.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
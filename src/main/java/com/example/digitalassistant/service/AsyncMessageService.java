@@ -0,0 +1,133 @@
+package com.example.digitalassistant.service;
+
+import com.example.digitalassistant.config.QueryCountingDataSource;
+import com.example.digitalassistant.config.VirtualThreads;
+import com.example.digitalassistant.model.MessageRequest;
+import com.example.digitalassistant.model.MessageResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs message lookups on a bounded executor of their own.
+ * I added this for the async message endpoint: the Tomcat thread hands the
+ * request over and is free again, so the number of open connections is
+ * limited by Tomcat while the number of concurrent lookups (and database
+ * connections they can hold) is limited by this pool.
+ *
+ * When all workers are busy and the queue is full, app.assistant.async.rejection-policy decides:
+ * - abort (default): the request fails fast with 503 so clients back off
+ * - caller-runs: the request thread runs the lookup itself, which slows
+ *   down accepting new work instead of failing it
+ *
+ * With app.assistant.virtual-threads.enabled the workers are virtual threads.
+ *
+ * Meters:
+ * - executor.* tagged name=assistant-message: pool size, active workers, queued tasks, remaining queue capacity
+ * - assistant.async.queue.wait (timer): time a lookup waited in the queue
+ * - assistant.async.rejected (counter): submissions rejected, tagged policy
+ */
+@Service
+public class AsyncMessageService {
+
+    public static final String EXECUTOR_NAME = "assistant-message";
+    
+    private final AssistantService assistantService;
+    private final ThreadPoolExecutor executor;
+    private final Timer queueWait;
+    
+    public AsyncMessageService(
+            AssistantService assistantService,
+            MeterRegistry meterRegistry,
+            @Value("${app.assistant.async.threads:16}") int threads,
+            @Value("${app.assistant.async.queue-capacity:1000}") int queueCapacity,
+            @Value("${app.assistant.async.rejection-policy:abort}") String rejectionPolicy,
+            @Value("${app.assistant.virtual-threads.enabled:false}") boolean virtualThreads) {
+        this.assistantService = assistantService;
+        
+        String policy = rejectionPolicy.trim().toLowerCase(Locale.ROOT);
+        RejectedExecutionHandler delegate;
+        switch (policy) {
+            case "abort":
+                delegate = new ThreadPoolExecutor.AbortPolicy();
+                break;
+            case "caller-runs":
+                delegate = new ThreadPoolExecutor.CallerRunsPolicy();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown app.assistant.async.rejection-policy '"
+                        + rejectionPolicy + "' (abort, caller-runs)");
+        }
+        Counter rejected = Counter.builder("assistant.async.rejected")
+                .description("Message lookups rejected by the async executor")
+                .tag("policy", policy)
+                .register(meterRegistry);
+        
+        // In virtual-thread mode the workers are virtual but the pool keeps its size:
+        // the bound is what caps concurrent lookups (and database connections), not thread cost
+        ThreadFactory threadFactory;
+        if (virtualThreads) {
+            threadFactory = VirtualThreads.threadFactory("assistant-message-");
+        } else {
+            AtomicInteger threadNumber = new AtomicInteger();
+            threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, "assistant-message-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory,
+                (runnable, pool) -> {
+                    rejected.increment();
+                    delegate.rejectedExecution(runnable, pool);
+                });
+        
+        new ExecutorServiceMetrics(executor, EXECUTOR_NAME, Tags.empty()).bindTo(meterRegistry);
+        this.queueWait = Timer.builder("assistant.async.queue.wait")
+                .description("Time a message lookup waited for an async worker")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Look up the assistant's response on the message executor
+     *
+     * @param assistantName The name of the assistant to message
+     * @param messageRequest The user's message
+     * @param callerId Identity of the caller (e.g. client address), or null
+     * @return Future of the response, empty if the assistant doesn't exist
+     * @throws RejectedExecutionException if the executor is saturated and the policy is abort
+     */
+    public CompletableFuture<Optional<MessageResponse>> sendMessageToAssistant(
+            String assistantName, MessageRequest messageRequest, String callerId) {
+        long submittedNanos = System.nanoTime();
+        // The worker's statements count against the request in assistant.jdbc.queries
+        return CompletableFuture.supplyAsync(QueryCountingDataSource.propagate(() -> {
+            queueWait.record(System.nanoTime() - submittedNanos, TimeUnit.NANOSECONDS);
+            return assistantService.sendMessageToAssistant(assistantName, messageRequest, callerId);
+        }), executor);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
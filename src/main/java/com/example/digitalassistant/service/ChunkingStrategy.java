@@ -0,0 +1,114 @@
+package com.example.digitalassistant.service;
+
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Ways of splitting an assistant's response text into streamed chunks.
+ * Concatenating the chunks always gives back the original text.
+ */
+public enum ChunkingStrategy {
+
+    /**
+     * One chunk per word, with the whitespace that follows it
+     */
+    WORD {
+        @Override
+        public List<String> split(String text, int maxBytes) {
+            List<String> chunks = new ArrayList<>();
+            int start = 0;
+            int i = 0;
+            while (i < text.length()) {
+                // Skip the word, then the whitespace after it
+                while (i < text.length() && !Character.isWhitespace(text.charAt(i))) {
+                    i++;
+                }
+                while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+                    i++;
+                }
+                chunks.add(text.substring(start, i));
+                start = i;
+            }
+            return chunks;
+        }
+    },
+    
+    /**
+     * One chunk per sentence, using the JDK's locale-independent sentence rules
+     */
+    SENTENCE {
+        @Override
+        public List<String> split(String text, int maxBytes) {
+            List<String> chunks = new ArrayList<>();
+            BreakIterator sentences = BreakIterator.getSentenceInstance(Locale.ROOT);
+            sentences.setText(text);
+            int start = sentences.first();
+            for (int end = sentences.next(); end != BreakIterator.DONE; start = end, end = sentences.next()) {
+                chunks.add(text.substring(start, end));
+            }
+            return chunks;
+        }
+    },
+    
+    /**
+     * Chunks of at most maxBytes UTF-8 bytes, never splitting a character
+     */
+    FIXED_BYTES {
+        @Override
+        public List<String> split(String text, int maxBytes) {
+            List<String> chunks = new ArrayList<>();
+            int limit = Math.max(4, maxBytes); // room for any single code point
+            int start = 0;
+            int bytes = 0;
+            int i = 0;
+            while (i < text.length()) {
+                int codePoint = text.codePointAt(i);
+                int size = utf8Length(codePoint);
+                if (bytes + size > limit) {
+                    chunks.add(text.substring(start, i));
+                    start = i;
+                    bytes = 0;
+                }
+                bytes += size;
+                i += Character.charCount(codePoint);
+            }
+            if (start < text.length()) {
+                chunks.add(text.substring(start));
+            }
+            return chunks;
+        }
+    };
+    
+    /**
+     * Split response text into chunks for streaming
+     *
+     * @param text The full response text
+     * @param maxBytes Chunk size limit, only used by FIXED_BYTES
+     * @return Chunks in order; empty for empty text
+     */
+    public abstract List<String> split(String text, int maxBytes);
+    
+    /**
+     * Parse a configuration value such as "word", "sentence" or "fixed-bytes"
+     *
+     * @param value The configured strategy name (case-insensitive)
+     * @return The matching strategy
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static ChunkingStrategy fromConfig(String value) {
+        return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+    
+    private static int utf8Length(int codePoint) {
+        if (codePoint < 0x80) {
+            return 1;
+        } else if (codePoint < 0x800) {
+            return 2;
+        } else if (codePoint < 0x10000) {
+            return 3;
+        }
+        return 4;
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.digitalassistant.service;
+
+import com.example.digitalassistant.model.MessageRequest;
+import com.example.digitalassistant.model.MessageResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events variant of the message endpoint.
+ * I implemented this so clients can render the first part of a response right
+ * away instead of waiting for the whole body.
+ *
+ * Events sent on each stream:
+ * - start: assistant name, original message and timestamp
+ * - chunk: one piece of the response text (see {@link ChunkingStrategy})
+ * - done: number of chunks sent
+ *
+ * All events are sent from a small scheduler, never from the servlet thread,
+ * so an open stream doesn't hold a request thread. Heartbeat comments keep
+ * proxies from closing quiet connections, and streams with no data for the
+ * idle timeout are closed.
+ */
+@Service
+public class MessageStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageStreamService.class);
+    
+    private final AssistantService assistantService;
+    private final ChunkingStrategy chunkingStrategy;
+    private final int fixedChunkBytes;
+    private final long chunkIntervalMillis;
+    private final long heartbeatMillis;
+    private final long idleTimeoutNanos;
+    private final long maxDurationMillis;
+    private final ScheduledExecutorService scheduler;
+    
+    // Stream metrics
+    private final AtomicInteger openStreams = new AtomicInteger();
+    private final Timer timeToFirstByte;
+    private final MeterRegistry meterRegistry;
+    
+    public MessageStreamService(
+            AssistantService assistantService,
+            MeterRegistry meterRegistry,
+            @Value("${app.assistant.stream.chunking:word}") String chunking,
+            @Value("${app.assistant.stream.fixed-bytes:64}") int fixedChunkBytes,
+            @Value("${app.assistant.stream.chunk-interval-ms:0}") long chunkIntervalMillis,
+            @Value("${app.assistant.stream.heartbeat-seconds:15}") long heartbeatSeconds,
+            @Value("${app.assistant.stream.idle-timeout-seconds:60}") long idleTimeoutSeconds,
+            @Value("${app.assistant.stream.max-duration-seconds:300}") long maxDurationSeconds,
+            @Value("${app.assistant.stream.scheduler-threads:2}") int schedulerThreads) {
+        this.assistantService = assistantService;
+        this.meterRegistry = meterRegistry;
+        this.chunkingStrategy = ChunkingStrategy.fromConfig(chunking);
+        this.fixedChunkBytes = fixedChunkBytes;
+        this.chunkIntervalMillis = chunkIntervalMillis;
+        this.heartbeatMillis = TimeUnit.SECONDS.toMillis(heartbeatSeconds);
+        this.idleTimeoutNanos = TimeUnit.SECONDS.toNanos(idleTimeoutSeconds);
+        this.maxDurationMillis = TimeUnit.SECONDS.toMillis(maxDurationSeconds);
+        
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(schedulerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "message-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        Gauge.builder("assistant.stream.open", openStreams, AtomicInteger::get)
+                .description("Message streams currently open")
+                .register(meterRegistry);
+        this.timeToFirstByte = Timer.builder("assistant.stream.ttfb")
+                .description("Time from request to the first event of a message stream")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Open an SSE stream of the assistant's response to a message
+     *
+     * @param assistantName The assistant to message
+     * @param messageRequest The user's message
+     * @return The emitter for the open stream, or empty if the assistant doesn't exist
+     */
+    public Optional<SseEmitter> streamMessage(String assistantName, MessageRequest messageRequest) {
+        long startNanos = System.nanoTime();
+        
+        Optional<MessageResponse> response = assistantService.sendMessageToAssistant(assistantName, messageRequest);
+        if (!response.isPresent()) {
+            return Optional.empty();
+        }
+        
+        SseEmitter emitter = new SseEmitter(maxDurationMillis);
+        List<String> chunks = chunkingStrategy.split(response.get().getResponse(), fixedChunkBytes);
+        new MessageStream(emitter, response.get(), chunks, startNanos).open();
+        return Optional.of(emitter);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+    
+    private void recordOutcome(String outcome) {
+        Counter.builder("assistant.stream.closed")
+                .description("Message streams closed, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    /**
+     * State of one open stream; every send happens on the scheduler
+     */
+    private class MessageStream {
+    
+        private final SseEmitter emitter;
+        private final MessageResponse response;
+        private final List<String> chunks;
+        private final long startNanos;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        
+        private volatile long lastDataNanos;
+        private volatile ScheduledFuture<?> heartbeat;
+        private int nextChunk;
+        
+        MessageStream(SseEmitter emitter, MessageResponse response, List<String> chunks, long startNanos) {
+            this.emitter = emitter;
+            this.response = response;
+            this.chunks = chunks;
+            this.startNanos = startNanos;
+            this.lastDataNanos = startNanos;
+        }
+        
+        void open() {
+            openStreams.incrementAndGet();
+            emitter.onCompletion(() -> close(null));
+            emitter.onTimeout(() -> {
+                close("timeout");
+                emitter.complete();
+            });
+            emitter.onError(error -> close("error"));
+            
+            heartbeat = scheduler.scheduleAtFixedRate(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+            scheduler.execute(this::sendStart);
+        }
+        
+        private void sendStart() {
+            Map<String, Object> start = new HashMap<>();
+            start.put("assistantName", response.getAssistantName());
+            start.put("originalMessage", response.getOriginalMessage());
+            start.put("timestamp", response.getTimestamp());
+            
+            if (send(SseEmitter.event().name("start").data(start, MediaType.APPLICATION_JSON))) {
+                timeToFirstByte.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                scheduleNext();
+            }
+        }
+        
+        private void sendNextChunk() {
+            if (closed.get()) {
+                return;
+            }
+            
+            if (nextChunk < chunks.size()) {
+                Map<String, Object> chunk = new HashMap<>();
+                chunk.put("index", nextChunk);
+                chunk.put("text", chunks.get(nextChunk));
+                nextChunk++;
+                
+                if (send(SseEmitter.event().name("chunk").data(chunk, MediaType.APPLICATION_JSON))) {
+                    scheduleNext();
+                }
+            } else {
+                Map<String, Object> done = new HashMap<>();
+                done.put("chunks", chunks.size());
+                
+                if (send(SseEmitter.event().name("done").data(done, MediaType.APPLICATION_JSON))) {
+                    close("completed");
+                    emitter.complete();
+                }
+            }
+        }
+        
+        private void scheduleNext() {
+            if (chunkIntervalMillis > 0) {
+                scheduler.schedule(this::sendNextChunk, chunkIntervalMillis, TimeUnit.MILLISECONDS);
+            } else {
+                scheduler.execute(this::sendNextChunk);
+            }
+        }
+        
+        private void heartbeat() {
+            if (closed.get()) {
+                return;
+            }
+            
+            if (System.nanoTime() - lastDataNanos > idleTimeoutNanos) {
+                close("idle");
+                emitter.complete();
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                close("error");
+            }
+        }
+        
+        private boolean send(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return false;
+            }
+            
+            try {
+                emitter.send(event);
+                lastDataNanos = System.nanoTime();
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter already completed
+                log.debug("Message stream to {} closed while sending: {}", response.getAssistantName(), e.getMessage());
+                close("error");
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+        
+        private void close(String outcome) {
+            if (closed.compareAndSet(false, true)) {
+                openStreams.decrementAndGet();
+                if (heartbeat != null) {
+                    heartbeat.cancel(false);
+                }
+                recordOutcome(outcome == null ? "client-closed" : outcome);
+            }
+        }
+    }
+}
@@ -0,0 +1,479 @@
+package com.example.digitalassistant.service;
+
+import com.example.digitalassistant.repository.AssistantStore;
+import com.example.digitalassistant.stats.Hashing;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Off-heap copy of every assistant's name → responseText for the message path.
+ * I added this for catalogues of millions of assistants: keeping them all
+ * on the heap (as entities or snapshots) doesn't fit the container limit, and
+ * without them every cache miss goes to the database.
+ *
+ * Layout (all in direct ByteBuffers, outside the Java heap):
+ * - Slabs: append-only regions holding [hash, name length, text length, name, text] entries
+ * - Table: open-addressing hash table (linear probing) of slab addresses, keyed by name hash,
+ *   at most 75% full and at most 2^27 slots (~100M assistants); a put past that fails
+ *
+ * The database stays the source of truth; the index is built from the store
+ * on startup and updated after each committed write. An update appends a new
+ * entry and leaves the old bytes behind; the slabs are compacted once more
+ * than half of them is garbage.
+ *
+ * Readers don't lock: they use StampedLock optimistic reads and retry under
+ * the read lock if a writer got in the way. Disabled unless
+ * app.assistant.offheap.enabled=true.
+ */
+@Component
+public class OffHeapAssistantIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(OffHeapAssistantIndex.class);
+    
+    // Entry header: 64-bit name hash, name length, text length
+    private static final int ENTRY_HEADER_BYTES = 8 + 4 + 4;
+    private static final long EMPTY = 0;
+    private static final long TOMBSTONE = -1;
+    // Slots (live + tombstones) may fill up to this fraction before the table is rebuilt
+    private static final double MAX_LOAD = 0.75;
+    // 2^27 slots of 8 bytes is a 1 GB table, ~100M assistants; larger would overflow int offsets
+    private static final int MAX_TABLE_CAPACITY = 1 << 27;
+    
+    // Returned by a read that saw a half-finished write; the caller retries under the lock
+    private static final String RETRY = new String("retry");
+    
+    private final AssistantStore assistantStore;
+    private final boolean enabled;
+    private final int slabBytes;
+    private final StampedLock lock = new StampedLock();
+    
+    // Everything below is only changed under the write lock
+    private ByteBuffer table;
+    private int tableMask;
+    private ByteBuffer[] slabs = new ByteBuffer[0];
+    private int currentSlabUsed;
+    private int size;
+    private int tombstones;
+    private long usedBytes;
+    private long garbageBytes;
+    
+    // The index answers lookups only once it holds every assistant
+    private volatile boolean ready;
+    
+    public OffHeapAssistantIndex(
+            AssistantStore assistantStore,
+            MeterRegistry meterRegistry,
+            @Value("${app.assistant.offheap.enabled:false}") boolean enabled,
+            @Value("${app.assistant.offheap.slab-bytes:67108864}") int slabBytes,
+            @Value("${app.assistant.offheap.expected-entries:100000}") int expectedEntries) {
+        this.assistantStore = assistantStore;
+        this.enabled = enabled;
+        this.slabBytes = Math.max(1 << 16, slabBytes);
+        if (enabled) {
+            allocateTable(tableCapacityFor(expectedEntries));
+            
+            Gauge.builder("assistant.offheap.entries", this, OffHeapAssistantIndex::size)
+                    .description("Assistants held in the off-heap index")
+                    .register(meterRegistry);
+            Gauge.builder("assistant.offheap.bytes", this, OffHeapAssistantIndex::getAllocatedBytes)
+                    .description("Direct memory allocated by the off-heap index (table and slabs)")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+    }
+    
+    /**
+     * Copy every stored assistant into the index on startup
+     */
+    @PostConstruct
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        
+        long started = System.nanoTime();
+        assistantStore.streamAll(10_000, assistant -> put(assistant.getName(), assistant.getResponseText()));
+        ready = true;
+        log.info("Off-heap assistant index built with {} assistants in {} ms ({} MB direct memory)",
+                size, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), getAllocatedBytes() >> 20);
+    }
+    
+    /**
+     * Whether lookups can be answered from the index
+     *
+     * When false (disabled or still loading) callers must use the store.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+    
+    /**
+     * Look up the response text of an assistant
+     *
+     * @param name The assistant name
+     * @return The response text, or null if no assistant has this name
+     */
+    public String get(String name) {
+        byte[] key = name.getBytes(StandardCharsets.UTF_8);
+        long hash = Hashing.hash64(name);
+        
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            String text;
+            try {
+                text = find(key, hash);
+            } catch (RuntimeException e) {
+                text = RETRY; // read a slot or slab a writer was replacing
+            }
+            if (text != RETRY && lock.validate(stamp)) {
+                return text;
+            }
+        }
+        
+        stamp = lock.readLock();
+        try {
+            return find(key, hash);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    /**
+     * Record a created or updated assistant
+     *
+     * Inside a transaction the index changes after commit, so a rolled back
+     * write is never visible here.
+     *
+     * @param name The assistant name
+     * @param responseText Its (new) response text
+     */
+    public void put(String name, String responseText) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            long stamp = lock.writeLock();
+            try {
+                doPut(name, responseText);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        });
+    }
+    
+    /**
+     * Forget a deleted assistant (after commit, when called inside a transaction)
+     *
+     * @param name The name of the assistant that was deleted
+     */
+    public void remove(String name) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            long stamp = lock.writeLock();
+            try {
+                doRemove(name);
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        });
+    }
+    
+    /**
+     * Number of assistants in the index
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    /**
+     * Direct memory held by the table and the slabs, in bytes
+     */
+    public long getAllocatedBytes() {
+        long stamp = lock.readLock();
+        try {
+            long bytes = table == null ? 0 : table.capacity();
+            for (ByteBuffer slab : slabs) {
+                bytes += slab.capacity();
+            }
+            return bytes;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+    
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+    
+    /**
+     * Probe the table for a name; may run without the lock (see {@link #get})
+     */
+    private String find(byte[] key, long hash) {
+        ByteBuffer table = this.table;
+        ByteBuffer[] slabs = this.slabs;
+        int mask = tableMask;
+        
+        for (int slot = (int) hash & mask, probes = 0; probes <= mask; slot = (slot + 1) & mask, probes++) {
+            long address = table.getLong(slot * 8);
+            if (address == EMPTY) {
+                return null;
+            }
+            if (address != TOMBSTONE && matches(slabs, address, key, hash)) {
+                ByteBuffer slab = slabs[slabIndex(address)];
+                int offset = slabOffset(address);
+                int nameLength = slab.getInt(offset + 8);
+                int textLength = slab.getInt(offset + 12);
+                if (textLength < 0 || offset + ENTRY_HEADER_BYTES + nameLength + textLength > slab.capacity()) {
+                    return RETRY; // only possible while a writer is replacing the slabs
+                }
+                byte[] text = new byte[textLength];
+                ByteBuffer view = slab.duplicate();
+                view.position(offset + ENTRY_HEADER_BYTES + nameLength);
+                view.get(text);
+                return new String(text, StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+    
+    private void doPut(String name, String responseText) {
+        byte[] key = name.getBytes(StandardCharsets.UTF_8);
+        byte[] text = responseText.getBytes(StandardCharsets.UTF_8);
+        long hash = Hashing.hash64(name);
+        
+        if ((size + tombstones + 1) > (tableMask + 1) * MAX_LOAD) {
+            // Double when live entries fill more than half the allowed load, else just drop tombstones
+            rehash(size + 1 > (tableMask + 1) * MAX_LOAD / 2 ? growTableCapacity() : tableMask + 1);
+        }
+        
+        int slot = findSlot(key, hash);
+        long existing = table.getLong(slot * 8);
+        long address = append(hash, key, text);
+        if (existing != EMPTY && existing != TOMBSTONE) {
+            garbageBytes += entryBytes(existing);
+        } else {
+            if (existing == TOMBSTONE) {
+                tombstones--;
+            }
+            size++;
+        }
+        table.putLong(slot * 8, address);
+        
+        if (garbageBytes > slabBytes && garbageBytes > usedBytes / 2) {
+            compact();
+        }
+    }
+    
+    private void doRemove(String name) {
+        byte[] key = name.getBytes(StandardCharsets.UTF_8);
+        int slot = findSlot(key, Hashing.hash64(name));
+        long existing = table.getLong(slot * 8);
+        if (existing == EMPTY || existing == TOMBSTONE) {
+            return;
+        }
+        garbageBytes += entryBytes(existing);
+        table.putLong(slot * 8, TOMBSTONE);
+        tombstones++;
+        size--;
+    }
+    
+    /**
+     * Slot holding this name, or else the first free slot on its probe path
+     */
+    private int findSlot(byte[] key, long hash) {
+        int firstTombstone = -1;
+        for (int slot = (int) hash & tableMask; ; slot = (slot + 1) & tableMask) {
+            long address = table.getLong(slot * 8);
+            if (address == EMPTY) {
+                return firstTombstone >= 0 ? firstTombstone : slot;
+            }
+            if (address == TOMBSTONE) {
+                if (firstTombstone < 0) {
+                    firstTombstone = slot;
+                }
+            } else if (matches(slabs, address, key, hash)) {
+                return slot;
+            }
+        }
+    }
+    
+    private static boolean matches(ByteBuffer[] slabs, long address, byte[] key, long hash) {
+        ByteBuffer slab = slabs[slabIndex(address)];
+        int offset = slabOffset(address);
+        if (slab.getLong(offset) != hash || slab.getInt(offset + 8) != key.length) {
+            return false;
+        }
+        int nameStart = offset + ENTRY_HEADER_BYTES;
+        for (int i = 0; i < key.length; i++) {
+            if (slab.get(nameStart + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Append an entry to the current slab, starting a new one if it doesn't fit
+     */
+    private long append(long hash, byte[] key, byte[] text) {
+        int length = ENTRY_HEADER_BYTES + key.length + text.length;
+        if (slabs.length == 0 || currentSlabUsed + length > slabs[slabs.length - 1].capacity()) {
+            ByteBuffer[] grown = Arrays.copyOf(slabs, slabs.length + 1);
+            grown[slabs.length] = ByteBuffer.allocateDirect(Math.max(slabBytes, length));
+            slabs = grown;
+            currentSlabUsed = 0;
+        }
+        
+        int slabIndex = slabs.length - 1;
+        ByteBuffer slab = slabs[slabIndex].duplicate();
+        slab.position(currentSlabUsed);
+        slab.putLong(hash);
+        slab.putInt(key.length);
+        slab.putInt(text.length);
+        slab.put(key);
+        slab.put(text);
+        
+        long address = address(slabIndex, currentSlabUsed);
+        currentSlabUsed += length;
+        usedBytes += length;
+        return address;
+    }
+    
+    /**
+     * Move the table to a new capacity, dropping tombstones
+     */
+    private void rehash(int capacity) {
+        ByteBuffer oldTable = table;
+        int oldCapacity = tableMask + 1;
+        allocateTable(capacity);
+        for (int slot = 0; slot < oldCapacity; slot++) {
+            long address = oldTable.getLong(slot * 8);
+            if (address != EMPTY && address != TOMBSTONE) {
+                insertAddress(address);
+            }
+        }
+        tombstones = 0;
+    }
+    
+    /**
+     * Copy the live entries into fresh slabs so the garbage can be released
+     */
+    private void compact() {
+        ByteBuffer oldTable = table;
+        ByteBuffer[] oldSlabs = slabs;
+        int oldCapacity = tableMask + 1;
+        long before = usedBytes;
+        
+        allocateTable(oldCapacity);
+        slabs = new ByteBuffer[0];
+        currentSlabUsed = 0;
+        usedBytes = 0;
+        garbageBytes = 0;
+        tombstones = 0;
+        
+        for (int slot = 0; slot < oldCapacity; slot++) {
+            long address = oldTable.getLong(slot * 8);
+            if (address == EMPTY || address == TOMBSTONE) {
+                continue;
+            }
+            ByteBuffer slab = oldSlabs[slabIndex(address)];
+            int offset = slabOffset(address);
+            byte[] key = new byte[slab.getInt(offset + 8)];
+            byte[] text = new byte[slab.getInt(offset + 12)];
+            ByteBuffer view = slab.duplicate();
+            view.position(offset + ENTRY_HEADER_BYTES);
+            view.get(key);
+            view.get(text);
+            insertAddress(append(slab.getLong(offset), key, text));
+        }
+        log.debug("Off-heap assistant index compacted from {} to {} bytes", before, usedBytes);
+    }
+    
+    private void insertAddress(long address) {
+        ByteBuffer slab = slabs[slabIndex(address)];
+        long hash = slab.getLong(slabOffset(address));
+        int slot = (int) hash & tableMask;
+        while (table.getLong(slot * 8) != EMPTY) {
+            slot = (slot + 1) & tableMask;
+        }
+        table.putLong(slot * 8, address);
+    }
+    
+    private long entryBytes(long address) {
+        ByteBuffer slab = slabs[slabIndex(address)];
+        int offset = slabOffset(address);
+        return ENTRY_HEADER_BYTES + slab.getInt(offset + 8) + slab.getInt(offset + 12);
+    }
+    
+    private void allocateTable(int capacity) {
+        table = ByteBuffer.allocateDirect(capacity * 8);
+        tableMask = capacity - 1;
+    }
+    
+    private int growTableCapacity() {
+        int capacity = tableMask + 1;
+        if (capacity >= MAX_TABLE_CAPACITY) {
+            // At the cap, dropping tombstones is all that's left
+            if (size + 1 <= capacity * MAX_LOAD) {
+                return capacity;
+            }
+            throw new IllegalStateException("Off-heap assistant index is full: " + size + " assistants in "
+                    + MAX_TABLE_CAPACITY + " slots; disable app.assistant.offheap.enabled for a catalogue this large");
+        }
+        return capacity * 2;
+    }
+    
+    private static int tableCapacityFor(int entries) {
+        int capacity = 16;
+        while (capacity * MAX_LOAD < entries) {
+            if (capacity >= MAX_TABLE_CAPACITY) {
+                throw new IllegalArgumentException("app.assistant.offheap.expected-entries=" + entries
+                        + " exceeds what the off-heap index can hold (" + (long) (MAX_TABLE_CAPACITY * MAX_LOAD) + ")");
+            }
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+    
+    // Slot value = (slab index << 32 | offset) + 1, so 0 can mean empty
+    private static long address(int slabIndex, int offset) {
+        return (((long) slabIndex << 32) | offset) + 1;
+    }
+    
+    private static int slabIndex(long address) {
+        return (int) ((address - 1) >>> 32);
+    }
+    
+    private static int slabOffset(long address) {
+        return (int) (address - 1);
+    }
+}
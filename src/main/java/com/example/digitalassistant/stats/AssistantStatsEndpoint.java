@@ -0,0 +1,37 @@
+package com.example.digitalassistant.stats;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint for the per-assistant traffic statistics.
+ *
+ * - GET /actuator/assistantstats: top assistants, distinct callers, sketch settings
+ * - GET /actuator/assistantstats/{assistantName}: estimated messages for one assistant
+ *
+ * Read-only over HTTP: the app has no security on port 8080, so anyone who can
+ * reach it could wipe the statistics. Resetting them is a JMX operation (see
+ * {@link AssistantStatsJmxExtension}).
+ */
+@Component
+@Endpoint(id = "assistantstats")
+public class AssistantStatsEndpoint {
+
+    @Autowired
+    private AssistantTrafficStats trafficStats;
+    
+    @ReadOperation
+    public Map<String, Object> stats() {
+        return trafficStats.snapshot();
+    }
+    
+    @ReadOperation
+    public Map<String, Object> assistant(@Selector String assistantName) {
+        return trafficStats.snapshot(assistantName);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.digitalassistant.stats;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.EndpointJmxExtension;
+import org.springframework.stereotype.Component;
+
+/**
+ * JMX-only operations of the assistantstats endpoint.
+ * I moved the reset here from AssistantStatsEndpoint so it isn't reachable
+ * over HTTP. Over JMX the endpoint keeps its read operations and adds:
+ *
+ * - reset: clear all statistics (org.springframework.boot:type=Endpoint,name=Assistantstats)
+ */
+@Component
+@EndpointJmxExtension(endpoint = AssistantStatsEndpoint.class)
+public class AssistantStatsJmxExtension {
+
+    @Autowired
+    private AssistantTrafficStats trafficStats;
+    
+    @DeleteOperation
+    public void reset() {
+        trafficStats.reset();
+    }
+}
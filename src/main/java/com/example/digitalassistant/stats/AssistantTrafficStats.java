@@ -0,0 +1,183 @@
+package com.example.digitalassistant.stats;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-assistant traffic statistics in fixed memory.
+ * I built this on sketches instead of metric tags so thousands of assistant
+ * names can't blow up metric cardinality.
+ *
+ * Tracks:
+ * - Message frequency per assistant (count-min sketch)
+ * - The top-K busiest assistants (heavy hitters over the sketch)
+ * - Distinct callers (HyperLogLog over the current and previous window)
+ *
+ * Every decay interval the frequency counters are halved and the caller
+ * window rotates, so the numbers favour recent traffic.
+ */
+@Component
+public class AssistantTrafficStats {
+
+    private static final Logger log = LoggerFactory.getLogger(AssistantTrafficStats.class);
+    
+    private final CountMinSketch frequencies;
+    private final HeavyHitters heavyHitters;
+    private final long decayIntervalSeconds;
+    private final ScheduledExecutorService decayScheduler;
+    
+    // Distinct callers: the current window plus the one before it
+    private volatile HyperLogLog currentCallers;
+    private volatile HyperLogLog previousCallers;
+    
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder unknownAssistantMessages = new LongAdder();
+    private volatile Instant lastDecay = Instant.now();
+    
+    public AssistantTrafficStats(
+            @Value("${app.assistant.stats.epsilon:0.001}") double epsilon,
+            @Value("${app.assistant.stats.confidence:0.99}") double confidence,
+            @Value("${app.assistant.stats.top-k:20}") int topK,
+            @Value("${app.assistant.stats.hll-precision:14}") int hllPrecision,
+            @Value("${app.assistant.stats.decay-interval-seconds:300}") long decayIntervalSeconds) {
+        this.frequencies = new CountMinSketch(epsilon, 1 - confidence);
+        this.heavyHitters = new HeavyHitters(frequencies, topK);
+        this.currentCallers = new HyperLogLog(hllPrecision);
+        this.previousCallers = new HyperLogLog(hllPrecision);
+        this.decayIntervalSeconds = decayIntervalSeconds;
+        
+        if (decayIntervalSeconds > 0) {
+            this.decayScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "assistant-stats-decay");
+                thread.setDaemon(true);
+                return thread;
+            });
+            decayScheduler.scheduleAtFixedRate(this::decay, decayIntervalSeconds, decayIntervalSeconds, TimeUnit.SECONDS);
+        } else {
+            this.decayScheduler = null;
+        }
+    }
+    
+    /**
+     * Record one message
+     *
+     * @param assistantName The assistant messaged
+     * @param found Whether the assistant exists; unknown names only bump a counter
+     * @param callerId Caller identity (e.g. client address), or null if unknown
+     */
+    public void record(String assistantName, boolean found, String callerId) {
+        messages.increment();
+        if (callerId != null) {
+            currentCallers.add(Hashing.hash64(callerId));
+        }
+        if (!found) {
+            unknownAssistantMessages.increment();
+            return;
+        }
+        
+        long estimate = frequencies.add(Hashing.hash64(assistantName));
+        heavyHitters.offer(assistantName, estimate);
+    }
+    
+    /**
+     * Estimated (decayed) message count of one assistant
+     */
+    public long estimateMessages(String assistantName) {
+        return frequencies.estimate(Hashing.hash64(assistantName));
+    }
+    
+    /**
+     * Busiest assistants with their estimated (decayed) message counts, highest first
+     */
+    public Map<String, Long> topAssistants() {
+        return heavyHitters.top();
+    }
+    
+    /**
+     * Estimated distinct callers over the current and previous decay window
+     */
+    public long estimateDistinctCallers() {
+        return currentCallers.estimateUnion(previousCallers);
+    }
+    
+    /**
+     * Everything above plus the sketch configuration, for the actuator endpoint
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> sketch = new LinkedHashMap<>();
+        sketch.put("width", frequencies.getWidth());
+        sketch.put("depth", frequencies.getDepth());
+        sketch.put("topK", heavyHitters.getCapacity());
+        sketch.put("hllPrecision", currentCallers.getPrecision());
+        sketch.put("memoryBytes", frequencies.getMemoryBytes() + 2 * currentCallers.getMemoryBytes());
+        sketch.put("decayIntervalSeconds", decayIntervalSeconds);
+        sketch.put("lastDecay", lastDecay.toString());
+        
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("messages", messages.sum());
+        result.put("unknownAssistantMessages", unknownAssistantMessages.sum());
+        result.put("distinctCallers", estimateDistinctCallers());
+        result.put("topAssistants", topAssistants());
+        result.put("sketch", sketch);
+        return result;
+    }
+    
+    /**
+     * Estimate for a single assistant, for the actuator endpoint
+     */
+    public Map<String, Object> snapshot(String assistantName) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("assistantName", assistantName);
+        result.put("estimatedMessages", estimateMessages(assistantName));
+        return result;
+    }
+    
+    /**
+     * Halve the frequency counters and rotate the caller window
+     */
+    void decay() {
+        try {
+            frequencies.halve();
+            heavyHitters.resetThreshold();
+            
+            HyperLogLog expired = previousCallers;
+            expired.clear();
+            previousCallers = currentCallers;
+            currentCallers = expired;
+            lastDecay = Instant.now();
+        } catch (RuntimeException e) {
+            log.warn("Assistant traffic stats decay failed", e);
+        }
+    }
+    
+    /**
+     * Forget all statistics
+     */
+    public void reset() {
+        frequencies.clear();
+        heavyHitters.clear();
+        currentCallers.clear();
+        previousCallers.clear();
+        messages.reset();
+        unknownAssistantMessages.reset();
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (decayScheduler != null) {
+            decayScheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.digitalassistant.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size frequency sketch: estimated counts never go below the true count
+ * and overshoot by at most epsilon * total with probability 1 - delta.
+ *
+ * Updates are lock-free (one atomic increment per row). Counters can be
+ * halved periodically so the counts favour recent traffic.
+ */
+public class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final AtomicLongArray counters;
+    
+    /**
+     * @param epsilon Relative error bound, as a fraction of all recorded events
+     * @param delta Probability that an estimate exceeds the error bound
+     */
+    public CountMinSketch(double epsilon, double delta) {
+        this.width = (int) Math.ceil(Math.E / epsilon);
+        this.depth = (int) Math.ceil(Math.log(1 / delta));
+        this.counters = new AtomicLongArray(width * depth);
+    }
+    
+    /**
+     * Record one occurrence of a key
+     *
+     * @param hash The key's {@link Hashing#hash64} value
+     * @return The key's estimated count after this occurrence
+     */
+    public long add(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(h1, h2, row)));
+        }
+        return estimate;
+    }
+    
+    /**
+     * Estimated count of a key
+     *
+     * @param hash The key's {@link Hashing#hash64} value
+     */
+    public long estimate(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(h1, h2, row)));
+        }
+        return estimate;
+    }
+    
+    /**
+     * Halve every counter (exponential decay of old traffic)
+     */
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            long value;
+            do {
+                value = counters.get(i);
+            } while (value != 0 && !counters.compareAndSet(i, value, value >>> 1));
+        }
+    }
+    
+    /**
+     * Reset every counter to zero
+     */
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+    
+    public int getWidth() {
+        return width;
+    }
+    
+    public int getDepth() {
+        return depth;
+    }
+    
+    /**
+     * Approximate heap used by the counters
+     */
+    public long getMemoryBytes() {
+        return (long) counters.length() * Long.BYTES;
+    }
+    
+    private int index(int h1, int h2, int row) {
+        // One row per hash function; Kirsch-Mitzenmacher double hashing
+        int combined = h1 + row * h2;
+        return row * width + (combined & Integer.MAX_VALUE) % width;
+    }
+}
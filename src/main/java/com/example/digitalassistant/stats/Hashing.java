@@ -0,0 +1,30 @@
+package com.example.digitalassistant.stats;
+
+/**
+ * String hashing shared by the probabilistic structures (name filter, sketches).
+ */
+public final class Hashing {
+
+    private Hashing() {
+    }
+    
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units, finished with the MurmurHash3 mixer
+     *
+     * @param value The string to hash
+     * @return A well-mixed 64-bit hash; split it into two 32-bit halves for double hashing
+     */
+    public static long hash64(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.digitalassistant.stats;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Top-K heavy hitters on top of a {@link CountMinSketch}.
+ *
+ * Only the K candidate keys are stored; their counts always come from the
+ * sketch. A key enters the list when its estimate beats the smallest
+ * candidate's, so most updates stop at one volatile read. Updates are
+ * lock-free; under contention the list can briefly miss a key, which is
+ * fine for an approximate ranking.
+ */
+public class HeavyHitters {
+
+    private final CountMinSketch sketch;
+    private final AtomicReferenceArray<String> slots;
+    private final Set<String> members = ConcurrentHashMap.newKeySet();
+    
+    // Estimate a key must exceed to be considered; 0 while there are free slots
+    private volatile long threshold;
+    
+    public HeavyHitters(CountMinSketch sketch, int capacity) {
+        this.sketch = sketch;
+        this.slots = new AtomicReferenceArray<>(Math.max(1, capacity));
+    }
+    
+    /**
+     * Consider a key after its sketch count was updated
+     *
+     * @param key The key
+     * @param estimate The key's estimated count, as returned by {@link CountMinSketch#add}
+     */
+    public void offer(String key, long estimate) {
+        if (estimate <= threshold || members.contains(key)) {
+            return;
+        }
+        
+        // Find the weakest candidate (or a free slot)
+        int weakest = -1;
+        long weakestCount = Long.MAX_VALUE;
+        for (int i = 0; i < slots.length(); i++) {
+            String candidate = slots.get(i);
+            long count = candidate == null ? 0 : sketch.estimate(Hashing.hash64(candidate));
+            if (count < weakestCount) {
+                weakest = i;
+                weakestCount = count;
+            }
+        }
+        if (estimate <= weakestCount) {
+            threshold = weakestCount;
+            return;
+        }
+        
+        // Claim the key first so concurrent offers can't insert it twice
+        if (!members.add(key)) {
+            return;
+        }
+        String evicted = slots.get(weakest);
+        if (slots.compareAndSet(weakest, evicted, key)) {
+            if (evicted != null) {
+                members.remove(evicted);
+            }
+            threshold = evicted == null ? 0 : weakestCount;
+        } else {
+            members.remove(key);
+        }
+    }
+    
+    /**
+     * Current candidates with their estimated counts, highest first
+     */
+    public Map<String, Long> top() {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>();
+        for (int i = 0; i < slots.length(); i++) {
+            String key = slots.get(i);
+            if (key != null) {
+                entries.add(new AbstractMap.SimpleImmutableEntry<>(key, sketch.estimate(Hashing.hash64(key))));
+            }
+        }
+        entries.sort(Collections.reverseOrder(Map.Entry.comparingByValue(Comparator.naturalOrder())));
+        
+        Map<String, Long> top = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : entries) {
+            top.put(entry.getKey(), entry.getValue());
+        }
+        return top;
+    }
+    
+    /**
+     * Lower the entry threshold after the sketch was decayed or cleared
+     */
+    public void resetThreshold() {
+        threshold = 0;
+    }
+    
+    /**
+     * Drop every candidate
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+        members.clear();
+        threshold = 0;
+    }
+    
+    public int getCapacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,21 @@
+-- ===================================================================
+-- Initial schema for the persistent profile
+-- ===================================================================
+-- Matches the mapping of com.example.digitalassistant.model.Assistant;
+-- Hibernate runs with ddl-auto=validate against it.
+
+-- Ids are handed out in blocks of 50 (pooled-lo), see Assistant.ID_ALLOCATION_SIZE
+CREATE SEQUENCE assistants_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE assistants (
+    id            BIGINT        NOT NULL,
+    name          VARCHAR(255)  NOT NULL,
+    response_text VARCHAR(1000) NOT NULL,
+    created_at    TIMESTAMP,
+    updated_at    TIMESTAMP,
+    CONSTRAINT pk_assistants PRIMARY KEY (id),
+    CONSTRAINT uk_assistants_name UNIQUE (name)
+);
+
+-- Backs the keyset-paginated listing
+CREATE INDEX idx_assistants_created_at_id ON assistants (created_at, id);
@@ -11,6 +11,17 @@ const JSON_HEADERS = {
     'Accept': 'application/json'
 };
 
+// Assistants are listed one page at a time (keyset pagination)
+const PAGE_SIZE = 50;
+let loadedAssistants = [];
+let nextAssistantCursor = null;
+
+// Messages go over one WebSocket chat session per selected assistant when possible
+const CHAT_WS_BASE_URL = API_BASE_URL.replace(/^http/, 'ws').replace('/api/assistants', '/ws/assistants');
+let chatSocket = null;
+let chatSocketAssistant = null;
+let pendingChatReplies = [];
+
 // Initialize application when DOM is loaded
 document.addEventListener('DOMContentLoaded', function() {
     console.log('Digital Assistant Frontend Initialized');
@@ -164,17 +175,24 @@ async function handleSendMessage(event) {
             message: message
         };
         
-        // Send POST request to assistant's message endpoint
-        const response = await fetch(`${API_BASE_URL}/${encodeURIComponent(assistantName)}/message`, {
-            method: 'POST',
-            headers: JSON_HEADERS,
-            body: JSON.stringify(messageData)
-        });
+        // Prefer the open chat session; fall back to a plain HTTP request
+        let result = await sendChatMessage(assistantName, messageData).catch(() => null);
+        let ok = result !== null && result.success !== false;
         
-        // Parse JSON response
-        const result = await response.json();
+        if (result === null) {
+            // Send POST request to assistant's message endpoint
+            const response = await fetch(`${API_BASE_URL}/${encodeURIComponent(assistantName)}/message`, {
+                method: 'POST',
+                headers: JSON_HEADERS,
+                body: JSON.stringify(messageData)
+            });
+            
+            // Parse JSON response
+            result = await response.json();
+            ok = response.ok;
+        }
         
-        if (response.ok) {
+        if (ok) {
             // Success - display assistant's response
             const formattedResponse = `
 Assistant: ${result.assistantName}
@@ -211,15 +229,89 @@ Timestamp: ${new Date(result.timestamp).toLocaleString()}
     }
 }
 
+/**
+ * Open (or reuse) the WebSocket chat session for an assistant
+ * 
+ * Only one session is kept; selecting another assistant closes the old one.
+ * 
+ * @param {string} assistantName The assistant to bind the session to
+ * @returns {Promise<WebSocket>} Resolves once the session is open
+ */
+function openChatSocket(assistantName) {
+    if (chatSocket && chatSocketAssistant === assistantName && chatSocket.readyState === WebSocket.OPEN) {
+        return Promise.resolve(chatSocket);
+    }
+    
+    closeChatSocket();
+    
+    return new Promise((resolve, reject) => {
+        const socket = new WebSocket(`${CHAT_WS_BASE_URL}/${encodeURIComponent(assistantName)}/chat`);
+        
+        socket.onopen = () => {
+            chatSocket = socket;
+            chatSocketAssistant = assistantName;
+            resolve(socket);
+        };
+        
+        // Replies arrive in the same order as the messages were sent
+        socket.onmessage = (event) => {
+            const pending = pendingChatReplies.shift();
+            if (pending) {
+                pending.resolve(JSON.parse(event.data));
+            }
+        };
+        
+        socket.onclose = () => {
+            if (chatSocket === socket) {
+                chatSocket = null;
+                chatSocketAssistant = null;
+            }
+            pendingChatReplies.forEach(pending => pending.reject(new Error('Chat session closed')));
+            pendingChatReplies = [];
+            reject(new Error('Chat session could not be opened'));
+        };
+    });
+}
+
+/**
+ * Close the current chat session, if any
+ */
+function closeChatSocket() {
+    if (chatSocket) {
+        chatSocket.close();
+        chatSocket = null;
+        chatSocketAssistant = null;
+    }
+}
+
+/**
+ * Send a message over the assistant's chat session
+ * 
+ * @param {string} assistantName The assistant to message
+ * @param {Object} messageData The message body ({message: "..."})
+ * @returns {Promise<Object>} The reply frame (a message response or an error body)
+ */
+async function sendChatMessage(assistantName, messageData) {
+    if (typeof WebSocket === 'undefined') {
+        throw new Error('WebSocket not supported');
+    }
+    
+    const socket = await openChatSocket(assistantName);
+    return new Promise((resolve, reject) => {
+        pendingChatReplies.push({ resolve, reject });
+        socket.send(JSON.stringify(messageData));
+    });
+}
+
 // ===================================================================
 // DATA LOADING FUNCTIONS
 // ===================================================================
 
 /**
- * Load all assistants from the API and update the UI
+ * Load the first page of assistants from the API and update the UI
  * 
  * This function:
- * 1. Fetches all assistants from the REST API
+ * 1. Fetches the newest assistants from the REST API (one page)
  * 2. Updates the assistants list display
  * 3. Updates the assistant selection dropdown
  * 4. Handles loading states and errors
@@ -230,27 +322,28 @@ async function loadAssistants() {
     try {
         // Show loading state
         const assistantsList = document.getElementById('assistantsList');
-        const targetAssistant = document.getElementById('targetAssistant');
         
         assistantsList.innerHTML = '<p>Loading assistants...</p>';
         
-        // Fetch assistants from API
-        const response = await fetch(API_BASE_URL, {
+        // Fetch first page of assistants from API
+        const response = await fetch(`${API_BASE_URL}?size=${PAGE_SIZE}`, {
             method: 'GET',
             headers: JSON_HEADERS
         });
         
         if (response.ok) {
             // Parse response data
-            const assistants = await response.json();
+            const page = await response.json();
+            loadedAssistants = page.items;
+            nextAssistantCursor = page.nextCursor;
             
             // Update assistants list display
-            updateAssistantsList(assistants);
+            updateAssistantsList(loadedAssistants);
             
             // Update assistant selection dropdown
-            updateAssistantDropdown(assistants);
+            updateAssistantDropdown(loadedAssistants);
             
-            console.log(`Loaded ${assistants.length} assistants`);
+            console.log(`Loaded ${loadedAssistants.length} assistants`);
             
         } else {
             // Handle API error
@@ -267,6 +360,39 @@ async function loadAssistants() {
     }
 }
 
+/**
+ * Load the next page of assistants and append it to the UI
+ */
+async function loadMoreAssistants() {
+    if (!nextAssistantCursor) {
+        return;
+    }
+    
+    try {
+        const response = await fetch(
+            `${API_BASE_URL}?size=${PAGE_SIZE}&cursor=${encodeURIComponent(nextAssistantCursor)}`, {
+            method: 'GET',
+            headers: JSON_HEADERS
+        });
+        
+        if (response.ok) {
+            const page = await response.json();
+            loadedAssistants = loadedAssistants.concat(page.items);
+            nextAssistantCursor = page.nextCursor;
+            
+            updateAssistantsList(loadedAssistants);
+            updateAssistantDropdown(loadedAssistants);
+            
+            console.log(`Loaded ${page.items.length} more assistants`);
+        } else {
+            console.error('Failed to load more assistants:', response.status);
+        }
+        
+    } catch (error) {
+        console.error('Network error loading more assistants:', error);
+    }
+}
+
 /**
  * Update the assistants list display with current data
  * 
@@ -282,7 +408,7 @@ function updateAssistantsList(assistants) {
     }
     
     // Build HTML for assistants list
-    let html = `<h3>Total Assistants: ${assistants.length}</h3>`;
+    let html = `<h3>Showing ${assistants.length} Assistants</h3>`;
     
     assistants.forEach(assistant => {
         html += `
@@ -295,6 +421,11 @@ function updateAssistantsList(assistants) {
         `;
     });
     
+    // Offer the next page if there is one
+    if (nextAssistantCursor) {
+        html += '<button onclick="loadMoreAssistants()">Load more</button>';
+    }
+    
     assistantsList.innerHTML = html;
 }
 
@@ -599,6 +730,8 @@ window.digitalAssistant = {
     createDemoAssistants,
     runApiTests,
     loadAssistants,
+    loadMoreAssistants,
+    closeChatSocket,
     checkApiHealth,
     API_BASE_URL
 };
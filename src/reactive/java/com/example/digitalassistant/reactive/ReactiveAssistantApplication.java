@@ -0,0 +1,52 @@
+package com.example.digitalassistant.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Digital Assistant Service - reactive variant
+ *
+ * I built this next to the servlet application so both stacks can be compared
+ * under the same container limits. It serves the REST contract of
+ * AssistantController on WebFlux and Netty, with assistants in H2 through R2DBC,
+ * and only exists in the reactive Maven profile (mvn -Preactive).
+ *
+ * Only this package is scanned, so none of the servlet, JPA or WebSocket beans
+ * are created. The servlet starters are still on the classpath, which is why
+ * the web application type and the Netty server factory are set explicitly
+ * (Spring Boot would otherwise prefer Tomcat).
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        FlywayAutoConfiguration.class
+})
+public class ReactiveAssistantApplication {
+
+    /**
+     * Main method - starts the reactive application with the reactive profile
+     */
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveAssistantApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive")
+                .run(args);
+        
+        System.out.println("=================================================");
+        System.out.println("Digital Assistant Service (reactive) Started Successfully!");
+        System.out.println("API Base URL: http://localhost:8080/api/assistants");
+        System.out.println("Health Check: http://localhost:8080/actuator/health");
+        System.out.println("=================================================");
+    }
+    
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
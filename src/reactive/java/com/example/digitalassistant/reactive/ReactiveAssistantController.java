@@ -0,0 +1,262 @@
+package com.example.digitalassistant.reactive;
+
+import com.example.digitalassistant.model.Assistant;
+import com.example.digitalassistant.model.AssistantSummary;
+import com.example.digitalassistant.model.BatchMessageItem;
+import com.example.digitalassistant.model.ErrorCode;
+import com.example.digitalassistant.model.ErrorResponse;
+import com.example.digitalassistant.model.MessageRequest;
+import com.example.digitalassistant.model.MessageResponse;
+import com.example.digitalassistant.service.ChunkingStrategy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller of the reactive variant
+ *
+ * Same paths, status codes and JSON bodies as AssistantController, so clients
+ * and the load generator's replay files work against either stack. Handlers
+ * return Mono/Flux and never block the event loop.
+ *
+ * Not served here: the bulk import (POST /bulk) and the WebSocket chat, which
+ * stay on the servlet stack.
+ */
+@RestController
+@RequestMapping("/api/assistants")
+@CrossOrigin(origins = "*")
+public class ReactiveAssistantController {
+
+    @Autowired
+    private ReactiveAssistantService assistantService;
+    
+    // Maximum number of messages accepted by the batch endpoint
+    @Value("${app.assistant.batch.max-size:1000}")
+    private int maxBatchSize;
+    
+    // Message stream settings, shared with the servlet stack
+    @Value("${app.assistant.stream.chunking:word}")
+    private String chunking;
+    
+    @Value("${app.assistant.stream.fixed-bytes:64}")
+    private int fixedChunkBytes;
+    
+    @Value("${app.assistant.stream.chunk-interval-ms:0}")
+    private long chunkIntervalMillis;
+    
+    /**
+     * Creates a new assistant or updates an existing one
+     */
+    @PostMapping
+    public Mono<ResponseEntity<?>> createOrUpdateAssistant(@Valid @RequestBody Assistant assistant) {
+        return assistantService.createOrUpdateAssistant(assistant.getName(), assistant.getResponseText())
+                .<ResponseEntity<?>>map(result -> {
+                    HttpStatus status = result.isCreated() ? HttpStatus.CREATED : HttpStatus.OK;
+                    String operation = result.isCreated() ? "created" : "updated";
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("message", "Assistant '" + assistant.getName() + "' " + operation + " successfully");
+                    response.put("operation", operation);
+                    response.put("assistant", result.getAssistant());
+                    return ResponseEntity.status(status).body(response);
+                })
+                .onErrorResume(e -> Mono.just(toResponse(ErrorResponse.of(ErrorCode.CREATE_FAILED, e.getMessage()))));
+    }
+    
+    /**
+     * Sends a message to an assistant and returns the predefined response
+     *
+     * The async path of the servlet stack maps here too: every handler is non-blocking.
+     */
+    @PostMapping({"/{assistantName}/message", "/{assistantName}/message/async"})
+    public Mono<ResponseEntity<?>> sendMessage(
+            @PathVariable String assistantName,
+            @Valid @RequestBody MessageRequest messageRequest) {
+        return assistantService.sendMessageToAssistant(assistantName, messageRequest.getMessage())
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(toResponse(ErrorResponse.forAssistant(ErrorCode.ASSISTANT_NOT_FOUND, assistantName)))
+                .onErrorResume(e -> Mono.just(toResponse(
+                        ErrorResponse.forAssistant(ErrorCode.MESSAGE_FAILED, assistantName, e.getMessage()))));
+    }
+    
+    /**
+     * Streams the response as Server-Sent Events: start, chunk (one per piece), done
+     */
+    @PostMapping("/{assistantName}/message/stream")
+    public Mono<ResponseEntity<?>> streamMessage(
+            @PathVariable String assistantName,
+            @Valid @RequestBody MessageRequest messageRequest) {
+        return assistantService.sendMessageToAssistant(assistantName, messageRequest.getMessage())
+                .<ResponseEntity<?>>map(response -> ResponseEntity.ok()
+                        .contentType(MediaType.TEXT_EVENT_STREAM)
+                        .body(events(response)))
+                .defaultIfEmpty(toResponse(ErrorResponse.forAssistant(ErrorCode.ASSISTANT_NOT_FOUND, assistantName)));
+    }
+    
+    /**
+     * Sends many messages, possibly to different assistants, in one request
+     * 
+     * The body is decoded as a Flux so the array is read entry by entry, and
+     * take(maxBatchSize + 1) cancels the decoding as soon as the batch is known
+     * to be too large.
+     */
+    @PostMapping("/messages:batch")
+    public Mono<ResponseEntity<?>> sendMessages(@RequestBody Flux<BatchMessageItem> body) {
+        return body.take(maxBatchSize + 1)
+                .collectList()
+                .flatMap(items -> {
+                    if (items.size() > maxBatchSize) {
+                        return Mono.just(toResponse(ErrorResponse.of(ErrorCode.BATCH_TOO_LARGE,
+                                "A batch may contain at most " + maxBatchSize + " messages")));
+                    }
+                    return assistantService.sendMessagesToAssistants(items)
+                            .<ResponseEntity<?>>map(ResponseEntity::ok);
+                });
+    }
+    
+    /**
+     * Get digital assistants, optionally one page at a time (size and/or cursor)
+     */
+    @GetMapping
+    public Mono<ResponseEntity<?>> getAllAssistants(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        if (cursor != null || size != null) {
+            return assistantService.getAssistantPage(cursor, size)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .onErrorResume(IllegalArgumentException.class, e -> Mono.just(
+                            toResponse(ErrorResponse.of(ErrorCode.INVALID_PAGE_REQUEST, e.getMessage()))));
+        }
+        
+        return assistantService.getAllAssistants()
+                .collectList()
+                .<ResponseEntity<?>>map(ResponseEntity::ok);
+    }
+    
+    /**
+     * Export all assistants as newline-delimited JSON, one row at a time
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<AssistantSummary>> exportAssistants() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"assistants.ndjson\"")
+                .body(assistantService.exportAssistants());
+    }
+    
+    /**
+     * Get a specific assistant by name
+     */
+    @GetMapping("/{assistantName}")
+    public Mono<ResponseEntity<?>> getAssistant(@PathVariable String assistantName) {
+        return assistantService.getAssistantByName(assistantName)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .defaultIfEmpty(toResponse(ErrorResponse.forAssistant(ErrorCode.ASSISTANT_DOES_NOT_EXIST, assistantName)));
+    }
+    
+    /**
+     * Delete an assistant by name
+     */
+    @DeleteMapping("/{assistantName}")
+    public Mono<ResponseEntity<?>> deleteAssistant(@PathVariable String assistantName) {
+        return assistantService.deleteAssistant(assistantName)
+                .<ResponseEntity<?>>map(deleted -> {
+                    if (!deleted) {
+                        return toResponse(ErrorResponse.forAssistant(ErrorCode.ASSISTANT_NOT_DELETABLE, assistantName));
+                    }
+                    Map<String, Object> successResponse = new HashMap<>();
+                    successResponse.put("success", true);
+                    successResponse.put("message", "Assistant '" + assistantName + "' deleted successfully");
+                    successResponse.put("assistantName", assistantName);
+                    successResponse.put("timestamp", LocalDateTime.now());
+                    return ResponseEntity.ok(successResponse);
+                });
+    }
+    
+    /**
+     * Health check endpoint
+     */
+    @GetMapping("/health")
+    public Mono<ResponseEntity<Map<String, Object>>> healthCheck() {
+        return assistantService.getAssistantCount()
+                .map(assistantCount -> {
+                    Map<String, Object> endpoints = new HashMap<>();
+                    endpoints.put("createAssistant", "POST /api/assistants");
+                    endpoints.put("sendMessage", "POST /api/assistants/{name}/message");
+                    endpoints.put("streamMessage", "POST /api/assistants/{name}/message/stream");
+                    endpoints.put("sendMessages", "POST /api/assistants/messages:batch");
+                    endpoints.put("getAllAssistants", "GET /api/assistants");
+                    endpoints.put("getAssistantPage", "GET /api/assistants?size={size}&cursor={cursor}");
+                    endpoints.put("getAssistant", "GET /api/assistants/{name}");
+                    endpoints.put("exportAssistants", "GET /api/assistants/export");
+                    endpoints.put("deleteAssistant", "DELETE /api/assistants/{name}");
+                    
+                    Map<String, Object> healthResponse = new HashMap<>();
+                    healthResponse.put("status", "UP");
+                    healthResponse.put("service", "Digital Assistant Service");
+                    healthResponse.put("version", "1.0.0");
+                    healthResponse.put("stack", "reactive");
+                    healthResponse.put("totalAssistants", assistantCount);
+                    healthResponse.put("cache", assistantService.getCacheStats());
+                    healthResponse.put("timestamp", LocalDateTime.now());
+                    healthResponse.put("endpoints", endpoints);
+                    return ResponseEntity.ok(healthResponse);
+                })
+                .onErrorResume(e -> {
+                    Map<String, Object> errorResponse = new HashMap<>();
+                    errorResponse.put("status", "DOWN");
+                    errorResponse.put("error", "Health check failed");
+                    errorResponse.put("details", e.getMessage());
+                    errorResponse.put("timestamp", LocalDateTime.now());
+                    return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse));
+                });
+    }
+    
+    /**
+     * The start, chunk and done events of one message stream
+     */
+    private Flux<ServerSentEvent<Object>> events(MessageResponse response) {
+        List<String> chunks = ChunkingStrategy.fromConfig(chunking).split(response.getResponse(), fixedChunkBytes);
+        
+        Map<String, Object> start = new HashMap<>();
+        start.put("assistantName", response.getAssistantName());
+        start.put("originalMessage", response.getOriginalMessage());
+        start.put("timestamp", response.getTimestamp());
+        
+        Flux<ServerSentEvent<Object>> chunkEvents = Flux.range(0, chunks.size())
+                .map(index -> {
+                    Map<String, Object> chunk = new HashMap<>();
+                    chunk.put("index", index);
+                    chunk.put("text", chunks.get(index));
+                    return ServerSentEvent.<Object>builder(chunk).event("chunk").build();
+                });
+        if (chunkIntervalMillis > 0) {
+            chunkEvents = chunkEvents.delayElements(Duration.ofMillis(chunkIntervalMillis));
+        }
+        
+        Map<String, Object> done = new HashMap<>();
+        done.put("chunks", chunks.size());
+        
+        return Flux.concat(
+                Mono.just(ServerSentEvent.<Object>builder(start).event("start").build()),
+                chunkEvents,
+                Mono.just(ServerSentEvent.<Object>builder(done).event("done").build()));
+    }
+    
+    static ResponseEntity<ErrorResponse> toResponse(ErrorResponse error) {
+        return ResponseEntity.status(error.getCode().getStatus()).body(error);
+    }
+}
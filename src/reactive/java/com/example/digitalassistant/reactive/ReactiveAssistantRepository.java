@@ -0,0 +1,170 @@
+package com.example.digitalassistant.reactive;
+
+import com.example.digitalassistant.model.Assistant;
+import com.example.digitalassistant.model.AssistantSnapshot;
+import com.example.digitalassistant.model.AssistantSummary;
+import com.example.digitalassistant.model.AssistantUpsertResult;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+
+/**
+ * Reactive assistant storage on R2DBC H2.
+ * I wrote the same statements as AssistantRepositoryImpl against DatabaseClient,
+ * so nothing blocks an event-loop thread: every method returns a Mono or Flux
+ * that runs its statement when subscribed.
+ *
+ * Ids come from the assistants_id_seq sequence of reactive-schema.sql.
+ */
+@Repository
+public class ReactiveAssistantRepository {
+
+    private static final String NEXT_ID_SQL = "SELECT NEXT VALUE FOR assistants_id_seq AS id";
+    
+    /**
+     * Same MERGE as the JDBC upsert: the id is freshly allocated and only the
+     * insert branch writes it, so getting it back means the row was created
+     */
+    private static final String UPSERT_SQL =
+            "SELECT id, created_at, updated_at FROM FINAL TABLE (" +
+            " MERGE INTO assistants t" +
+            " USING (VALUES (CAST(:id AS BIGINT), CAST(:name AS VARCHAR(255))," +
+            "   CAST(:responseText AS VARCHAR(1000)), CAST(:ts AS TIMESTAMP)))" +
+            "   AS s(id, name, response_text, ts)" +
+            " ON t.name = s.name" +
+            " WHEN MATCHED THEN UPDATE SET response_text = s.response_text, updated_at = s.ts" +
+            " WHEN NOT MATCHED THEN INSERT (id, name, response_text, created_at, updated_at)" +
+            "   VALUES (s.id, s.name, s.response_text, s.ts, s.ts)" +
+            ")";
+    
+    private static final String COLUMNS = "id, name, response_text, created_at, updated_at";
+    
+    private final DatabaseClient databaseClient;
+    
+    public ReactiveAssistantRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+    
+    /**
+     * Insert a new assistant or update the response text of an existing one
+     *
+     * An update uses up one sequence value; ids only need to be unique.
+     *
+     * @return The stored assistant and whether it was created or updated
+     */
+    public Mono<AssistantUpsertResult> upsert(String name, String responseText) {
+        // Timestamps are stored with microsecond precision
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        return databaseClient.sql(NEXT_ID_SQL)
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .flatMap(newId -> databaseClient.sql(UPSERT_SQL)
+                        .bind("id", newId)
+                        .bind("name", name)
+                        .bind("responseText", responseText)
+                        .bind("ts", now)
+                        .map(row -> {
+                            Assistant assistant = new Assistant(name, responseText);
+                            assistant.setId(row.get("id", Long.class));
+                            assistant.setCreatedAt(row.get("created_at", LocalDateTime.class));
+                            assistant.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+                            return new AssistantUpsertResult(assistant, newId.equals(assistant.getId()));
+                        })
+                        .one());
+    }
+    
+    public Mono<Assistant> findByName(String name) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM assistants WHERE name = :name")
+                .bind("name", name)
+                .map(ReactiveAssistantRepository::toAssistant)
+                .one();
+    }
+    
+    /**
+     * Message-path view of the assistants that exist among the names
+     */
+    public Flux<AssistantSnapshot> findSnapshotsByNameIn(Collection<String> names) {
+        if (names.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql("SELECT name, response_text FROM assistants WHERE name IN (:names)")
+                .bind("names", names)
+                .map(row -> new AssistantSnapshot(row.get("name", String.class), row.get("response_text", String.class)))
+                .all();
+    }
+    
+    public Flux<Assistant> findAllOrderByCreatedAtDesc() {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM assistants ORDER BY created_at DESC")
+                .map(ReactiveAssistantRepository::toAssistant)
+                .all();
+    }
+    
+    public Flux<AssistantSummary> findFirstPage(int limit) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM assistants" +
+                        " ORDER BY created_at DESC, id DESC LIMIT :limit")
+                .bind("limit", limit)
+                .map(ReactiveAssistantRepository::toSummary)
+                .all();
+    }
+    
+    public Flux<AssistantSummary> findPageAfter(LocalDateTime createdAt, long id, int limit) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM assistants" +
+                        " WHERE created_at < :createdAt OR (created_at = :createdAt AND id < :id)" +
+                        " ORDER BY created_at DESC, id DESC LIMIT :limit")
+                .bind("createdAt", createdAt)
+                .bind("id", id)
+                .bind("limit", limit)
+                .map(ReactiveAssistantRepository::toSummary)
+                .all();
+    }
+    
+    /**
+     * Every assistant in id order, for the NDJSON export
+     */
+    public Flux<AssistantSummary> streamAll() {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM assistants ORDER BY id")
+                .map(ReactiveAssistantRepository::toSummary)
+                .all();
+    }
+    
+    /**
+     * Delete an assistant with a single statement
+     *
+     * @return Number of assistants deleted (0 or 1)
+     */
+    public Mono<Integer> deleteByName(String name) {
+        return databaseClient.sql("DELETE FROM assistants WHERE name = :name")
+                .bind("name", name)
+                .fetch()
+                .rowsUpdated();
+    }
+    
+    public Mono<Long> count() {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM assistants")
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+    
+    private static Assistant toAssistant(Row row) {
+        Assistant assistant = new Assistant(row.get("name", String.class), row.get("response_text", String.class));
+        assistant.setId(row.get("id", Long.class));
+        assistant.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        assistant.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        return assistant;
+    }
+    
+    private static AssistantSummary toSummary(Row row) {
+        return new AssistantSummary(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("response_text", String.class),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class));
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.digitalassistant.reactive;
+
+import com.example.digitalassistant.model.Assistant;
+import com.example.digitalassistant.model.AssistantPage;
+import com.example.digitalassistant.model.AssistantPageCursor;
+import com.example.digitalassistant.model.AssistantSnapshot;
+import com.example.digitalassistant.model.AssistantSummary;
+import com.example.digitalassistant.model.AssistantUpsertResult;
+import com.example.digitalassistant.model.BatchMessageItem;
+import com.example.digitalassistant.model.BatchMessageResult;
+import com.example.digitalassistant.model.MessageResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Business logic of the reactive variant.
+ * I kept the rules of AssistantService (cache first on the message path, batch
+ * entries answered in request order, keyset pages) but every step is a Mono or
+ * Flux. The cache is a plain Caffeine cache; reading it never blocks, so it is
+ * safe on the event loop.
+ *
+ * Like AssistantCache, every write bumps a generation counter, and a load only
+ * stays cached if the generation didn't move while it was reading. Otherwise a
+ * load that read the old row before a write, and stored it after the write's
+ * invalidate, would serve the old response (or a deleted assistant) until the
+ * entry expired.
+ */
+@Service
+public class ReactiveAssistantService {
+
+    private final ReactiveAssistantRepository assistantRepository;
+    private final Validator validator;
+    private final Cache<String, AssistantSnapshot> cache;
+    
+    // Bumped on every write so loads that raced with a write are not cached
+    private final AtomicLong generation = new AtomicLong();
+    private final int defaultPageSize;
+    private final int maxPageSize;
+    
+    public ReactiveAssistantService(
+            ReactiveAssistantRepository assistantRepository,
+            Validator validator,
+            MeterRegistry meterRegistry,
+            @Value("${app.assistant.cache.max-size:10000}") long cacheMaxSize,
+            @Value("${app.assistant.cache.ttl-seconds:600}") long cacheTtlSeconds,
+            @Value("${app.assistant.page.default-size:50}") int defaultPageSize,
+            @Value("${app.assistant.page.max-size:500}") int maxPageSize) {
+        this.assistantRepository = assistantRepository;
+        this.validator = validator;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "assistants");
+    }
+    
+    public Mono<AssistantUpsertResult> createOrUpdateAssistant(String name, String responseText) {
+        return assistantRepository.upsert(name, responseText)
+                .doOnNext(result -> invalidate(name));
+    }
+    
+    /**
+     * Answer a message from the cache, or from the database on a miss
+     *
+     * @return The response, or empty if the assistant doesn't exist
+     */
+    public Mono<MessageResponse> sendMessageToAssistant(String assistantName, String message) {
+        return findSnapshotByName(assistantName)
+                .map(assistant -> new MessageResponse(assistantName, assistant.getResponseText(), message));
+    }
+    
+    /**
+     * Answer a batch of messages in request order, loading all missing names with one query
+     */
+    public Mono<List<BatchMessageResult>> sendMessagesToAssistants(List<BatchMessageItem> items) {
+        String[] errors = new String[items.size()];
+        Set<String> names = new HashSet<>();
+        Map<String, AssistantSnapshot> assistants = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            errors[i] = validate(items.get(i));
+            if (errors[i] != null) {
+                continue;
+            }
+            String name = items.get(i).getAssistantName();
+            AssistantSnapshot cached = cache.getIfPresent(name);
+            if (cached != null) {
+                assistants.put(name, cached);
+            } else {
+                names.add(name);
+            }
+        }
+        
+        Mono<Map<String, AssistantSnapshot>> loaded = Mono.defer(() -> {
+            long loadGeneration = generation.get();
+            return assistantRepository.findSnapshotsByNameIn(names)
+                    .doOnNext(snapshot -> put(snapshot, loadGeneration))
+                    .collectMap(AssistantSnapshot::getName, snapshot -> snapshot, () -> assistants);
+        });
+        return loaded
+                .map(found -> {
+                    List<BatchMessageResult> results = new ArrayList<>(items.size());
+                    for (int i = 0; i < items.size(); i++) {
+                        BatchMessageItem item = items.get(i);
+                        if (errors[i] != null) {
+                            results.add(BatchMessageResult.invalid(i, errors[i]));
+                            continue;
+                        }
+                        AssistantSnapshot assistant = found.get(item.getAssistantName());
+                        results.add(assistant == null
+                                ? BatchMessageResult.notFound(i, item.getAssistantName())
+                                : BatchMessageResult.ok(i, new MessageResponse(
+                                        item.getAssistantName(), assistant.getResponseText(), item.getMessage())));
+                    }
+                    return results;
+                });
+    }
+    
+    public Flux<Assistant> getAllAssistants() {
+        return assistantRepository.findAllOrderByCreatedAtDesc();
+    }
+    
+    /**
+     * One keyset page of summaries, newest first
+     *
+     * @throws IllegalArgumentException (as the Mono's error) if the cursor is invalid
+     */
+    public Mono<AssistantPage> getAssistantPage(String cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        int limit = pageSize + 1;
+        
+        return Mono.defer(() -> {
+            Flux<AssistantSummary> rows;
+            if (cursor == null || cursor.isEmpty()) {
+                rows = assistantRepository.findFirstPage(limit);
+            } else {
+                AssistantPageCursor after = AssistantPageCursor.decode(cursor);
+                rows = assistantRepository.findPageAfter(after.getCreatedAt(), after.getId(), limit);
+            }
+            return rows.collectList();
+        }).map(items -> {
+            String nextCursor = null;
+            if (items.size() > pageSize) {
+                items = items.subList(0, pageSize);
+                nextCursor = AssistantPageCursor.after(items.get(pageSize - 1)).encode();
+            }
+            return new AssistantPage(items, nextCursor, pageSize);
+        });
+    }
+    
+    public Mono<Assistant> getAssistantByName(String name) {
+        return assistantRepository.findByName(name);
+    }
+    
+    public Flux<AssistantSummary> exportAssistants() {
+        return assistantRepository.streamAll();
+    }
+    
+    /**
+     * Delete an assistant
+     *
+     * @return true if it existed and was deleted
+     */
+    public Mono<Boolean> deleteAssistant(String name) {
+        return assistantRepository.deleteByName(name)
+                .map(deleted -> {
+                    invalidate(name);
+                    return deleted > 0;
+                });
+    }
+    
+    public Mono<Long> getAssistantCount() {
+        return assistantRepository.count();
+    }
+    
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", cache.estimatedSize());
+        stats.put("hitRate", cache.stats().hitRate());
+        return stats;
+    }
+    
+    private Mono<AssistantSnapshot> findSnapshotByName(String name) {
+        AssistantSnapshot cached = cache.getIfPresent(name);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return Mono.defer(() -> {
+            long loadGeneration = generation.get();
+            return assistantRepository.findByName(name)
+                    .map(AssistantSnapshot::of)
+                    .doOnNext(snapshot -> put(snapshot, loadGeneration));
+        });
+    }
+    
+    /**
+     * Store a freshly loaded assistant unless a write happened while it was loading
+     *
+     * @param loadGeneration The generation captured before the load started
+     */
+    private void put(AssistantSnapshot snapshot, long loadGeneration) {
+        cache.put(snapshot.getName(), snapshot);
+        if (generation.get() != loadGeneration) {
+            cache.invalidate(snapshot.getName());
+        }
+    }
+    
+    private void invalidate(String name) {
+        generation.incrementAndGet();
+        cache.invalidate(name);
+    }
+    
+    /**
+     * Validate one batch entry
+     *
+     * @return Validation messages, or null if the entry is valid
+     */
+    private String validate(BatchMessageItem item) {
+        if (item == null) {
+            return "Entry must be an object with assistantName and message";
+        }
+        
+        Set<ConstraintViolation<BatchMessageItem>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        
+        StringBuilder errors = new StringBuilder();
+        for (ConstraintViolation<BatchMessageItem> violation : violations) {
+            if (errors.length() > 0) {
+                errors.append("; ");
+            }
+            errors.append(violation.getMessage());
+        }
+        return errors.toString();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.digitalassistant.reactive;
+
+import com.example.digitalassistant.model.ErrorCode;
+import com.example.digitalassistant.model.ErrorResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Error bodies of the reactive variant, matching ApiExceptionHandler on the
+ * servlet stack: 400 with field messages for invalid bodies, 400 for bodies
+ * that aren't valid JSON.
+ */
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    /**
+     * Validation errors from @Valid request bodies
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationErrors(WebExchangeBindException ex) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (FieldError error : ex.getBindingResult().getFieldErrors()) {
+            errors.put(error.getField(), error.getDefaultMessage());
+        }
+        return ReactiveAssistantController.toResponse(ErrorResponse.validation(errors));
+    }
+    
+    /**
+     * Request bodies that are missing or aren't valid JSON for the endpoint
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleUnreadableBody(ServerWebInputException ex) {
+        return ReactiveAssistantController.toResponse(
+                ErrorResponse.of(ErrorCode.MALFORMED_REQUEST, "Request body is missing or is not valid JSON"));
+    }
+}
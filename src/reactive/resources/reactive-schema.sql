@@ -0,0 +1,20 @@
+-- ===================================================================
+-- Schema of the reactive variant (R2DBC H2, in memory)
+-- ===================================================================
+-- Same table as db/migration/V1__create_assistants.sql. Ids come from a plain
+-- sequence, one value per upsert: there is no Hibernate to hand out pooled blocks.
+
+CREATE SEQUENCE IF NOT EXISTS assistants_id_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE IF NOT EXISTS assistants (
+    id            BIGINT        NOT NULL,
+    name          VARCHAR(255)  NOT NULL,
+    response_text VARCHAR(1000) NOT NULL,
+    created_at    TIMESTAMP,
+    updated_at    TIMESTAMP,
+    CONSTRAINT pk_assistants PRIMARY KEY (id),
+    CONSTRAINT uk_assistants_name UNIQUE (name)
+);
+
+-- Backs the keyset-paginated listing
+CREATE INDEX IF NOT EXISTS idx_assistants_created_at_id ON assistants (created_at, id);
@@ -0,0 +1,114 @@
+package com.example.digitalassistant.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replay of the on-disk log format after a crash left a damaged tail.
+ */
+class AssistantLogFileTest {
+
+    private static final int LOG_BYTES = 1 << 20;
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void replayStopsBeforeATruncatedRecord() throws IOException {
+        Path path = directory.resolve("assistants-0.log");
+        long end = writeEvents(path, "first", "second", "third");
+        
+        // The file ends in the middle of the third record, as after a crash during a copy
+        Path truncated = directory.resolve("truncated.log");
+        Files.write(truncated, Arrays.copyOf(Files.readAllBytes(path), (int) end - 4));
+        
+        try (AssistantLogFile log = AssistantLogFile.open(truncated, 0, LOG_BYTES)) {
+            assertThat(names(log)).containsExactly("first", "second");
+        }
+    }
+    
+    @Test
+    void replayStopsAtACorruptRecordAndAppendsOverIt() throws IOException {
+        Path path = directory.resolve("assistants-0.log");
+        long secondRecord;
+        try (AssistantLogFile log = AssistantLogFile.open(path, 0, LOG_BYTES)) {
+            log.replay(event -> { });
+            log.append(put(1, "first"));
+            secondRecord = log.getUsedBytes();
+            log.append(put(2, "second"));
+            log.append(put(3, "third"));
+        }
+        
+        // Flip a byte inside the second record's payload so its checksum no longer matches
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer value = ByteBuffer.allocate(1);
+            long offset = secondRecord + 8 + 10;
+            channel.read(value, offset);
+            value.put(0, (byte) (value.get(0) ^ 0xFF));
+            value.rewind();
+            channel.write(value, offset);
+        }
+        
+        try (AssistantLogFile log = AssistantLogFile.open(path, 0, LOG_BYTES)) {
+            assertThat(names(log)).containsExactly("first");
+            assertThat(log.append(put(4, "fourth"))).isTrue();
+        }
+        
+        // The damaged tail was cleared, so the third record can't reappear behind the new one
+        try (AssistantLogFile log = AssistantLogFile.open(path, 0, LOG_BYTES)) {
+            assertThat(names(log)).containsExactly("first", "fourth");
+        }
+    }
+    
+    @Test
+    void snapshotStartsWithTheLastId() throws IOException {
+        Path path = directory.resolve("assistants.snapshot");
+        AssistantLogFile.writeSnapshot(path, 7, 42, events -> events.accept(put(3, "kept")));
+        
+        List<AssistantLogFile.Event> events = new ArrayList<>();
+        assertThat(AssistantLogFile.readSnapshot(path, events::add)).isEqualTo(7);
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).type).isEqualTo(AssistantLogFile.LAST_ID);
+        assertThat(events.get(0).id).isEqualTo(42);
+        assertThat(events.get(1).name).isEqualTo("kept");
+    }
+    
+    /**
+     * Append one PUT per name to a new log
+     *
+     * @return Bytes in use after the last record
+     */
+    private static long writeEvents(Path path, String... names) throws IOException {
+        try (AssistantLogFile log = AssistantLogFile.open(path, 0, LOG_BYTES)) {
+            log.replay(event -> { });
+            for (int i = 0; i < names.length; i++) {
+                assertThat(log.append(put(i + 1, names[i]))).isTrue();
+            }
+            return log.getUsedBytes();
+        }
+    }
+    
+    private static List<String> names(AssistantLogFile log) {
+        List<String> names = new ArrayList<>();
+        log.replay(event -> names.add(event.name));
+        return names;
+    }
+    
+    private static AssistantLogFile.Event put(long id, String name) {
+        LocalDateTime now = LocalDateTime.now();
+        return new AssistantLogFile.Event(AssistantLogFile.PUT, id, name, "Response of " + name, now, now);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.digitalassistant.repository;
+
+import com.example.digitalassistant.model.Assistant;
+import com.example.digitalassistant.model.AssistantUpsertResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compaction, restart and crash recovery of the log-backed store.
+ */
+class LogAssistantStoreTest {
+
+    // The smallest log the store accepts, so a test can fill it
+    private static final int LOG_BYTES = 1 << 20;
+    
+    @TempDir
+    Path directory;
+    
+    private LogAssistantStore store;
+    
+    @AfterEach
+    void closeStore() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+    }
+    
+    @Test
+    void deletedIdIsNotReusedAfterCompactAndReopen() throws IOException {
+        store = open();
+        store.upsert("alpha", "A");
+        store.upsert("beta", "B");
+        long newest = store.upsert("gamma", "C").getAssistant().getId();
+        store.deleteByName("gamma");
+        store.snapshot();
+        
+        reopen();
+        assertThat(store.findAllNames()).containsExactlyInAnyOrder("alpha", "beta");
+        AssistantUpsertResult created = store.upsert("delta", "D");
+        assertThat(created.isCreated()).isTrue();
+        assertThat(created.getAssistant().getId()).isGreaterThan(newest);
+    }
+    
+    @Test
+    void reopenReplaysTheLogAfterTheSnapshot() throws IOException {
+        store = open();
+        store.upsert("alpha", "A");
+        store.snapshot();
+        store.upsert("alpha", "A2");
+        store.upsert("beta", "B");
+        
+        reopen();
+        assertThat(responseText("alpha")).contains("A2");
+        assertThat(responseText("beta")).contains("B");
+        assertThat(store.count()).isEqualTo(2);
+    }
+    
+    @Test
+    void oldLogLeftByACrashAfterTheSnapshotRenameIsIgnored() throws IOException {
+        store = open();
+        store.upsert("alpha", "A");
+        store.upsert("beta", "B");
+        Path oldLog = directory.resolve("assistants-0.log");
+        byte[] oldLogContent = Files.readAllBytes(oldLog);
+        
+        store.snapshot();
+        assertThat(oldLog).doesNotExist();
+        store.deleteByName("beta");
+        store.close();
+        store = null;
+        
+        // As if the process died after renaming the snapshot but before deleting the old log
+        Files.write(oldLog, oldLogContent);
+        
+        store = open();
+        assertThat(store.findAllNames()).containsExactly("alpha");
+        assertThat(oldLog).doesNotExist();
+    }
+    
+    @Test
+    void fullLogIsCompactedFromAppend() throws IOException {
+        store = open();
+        char[] filler = new char[1000];
+        Arrays.fill(filler, 'x');
+        String responseText = new String(filler);
+        
+        // ~1 KB per event, so 2000 updates of 10 names overflow a 1 MB log at least once
+        for (int i = 0; i < 2000; i++) {
+            store.upsert("assistant-" + (i % 10), responseText + i);
+        }
+        
+        assertThat(directory.resolve("assistants.snapshot")).exists();
+        assertThat(directory.resolve("assistants-0.log")).doesNotExist();
+        assertThat(logFiles()).isEqualTo(1);
+        assertThat(store.count()).isEqualTo(10);
+        
+        reopen();
+        assertThat(store.count()).isEqualTo(10);
+        assertThat(responseText("assistant-9")).contains(responseText + 1999);
+        assertThat(store.upsert("assistant-10", "new").getAssistant().getId()).isEqualTo(11);
+    }
+    
+    private LogAssistantStore open() throws IOException {
+        LogAssistantStore opened = new LogAssistantStore(directory.toString(), LOG_BYTES, false, 0, 0);
+        opened.open();
+        return opened;
+    }
+    
+    private void reopen() throws IOException {
+        store.close();
+        store = open();
+    }
+    
+    private Optional<String> responseText(String name) {
+        return store.findByName(name).map(Assistant::getResponseText);
+    }
+    
+    private long logFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log")).count();
+        }
+    }
+}